@@ -0,0 +1,197 @@
+package dataStructure.graph.hashMapGraph;
+
+/**
+ * A blocked counting Bloom filter over the directed entries (source, destination) of a graph. It answers whether
+ * an entry might be in the graph: a negative answer is always right, a positive answer is wrong for about one
+ * percent of the absent entries while the filter holds no more entries than its capacity.
+ *
+ * <p>Each entry is hashed to one block of 128 four-bit counters, which is 64 bytes or the size of a cache line,
+ * and to {@link #PROBES} counters within that block. Adding an entry increments its counters and removing it
+ * decrements them, so entries can be removed without rebuilding the filter. A counter that reaches 15 stays
+ * there, as it cannot tell how many entries it counts any more; this only makes false positives more likely.</p>
+ *
+ * @param <K> the type of vertex keys in the graph
+ */
+class EdgeFilter<K> {
+    /**
+     * The number of longs in a block.
+     */
+    private static final int BLOCK_WORDS = 8;
+
+    /**
+     * The number of counters in a block.
+     */
+    private static final int BLOCK_COUNTERS = BLOCK_WORDS * 16;
+
+    /**
+     * The number of counters reserved per entry of the capacity.
+     */
+    private static final int COUNTERS_PER_ENTRY = 12;
+
+    /**
+     * The number of counters set per entry.
+     */
+    private static final int PROBES = 4;
+
+    /**
+     * The smallest capacity of a filter.
+     */
+    private static final int MINIMUM_CAPACITY = 16;
+
+    /**
+     * The value at which a counter saturates.
+     */
+    private static final long MAX_COUNT = 15;
+
+    private final long[] words;
+    private final int blocks;
+    private final int capacity;
+    private int size;
+
+    /**
+     * Constructs an empty filter with room for the given number of entries.
+     *
+     * @param expectedEntries the number of entries the filter is expected to hold
+     */
+    EdgeFilter(int expectedEntries) {
+        capacity = Math.max(MINIMUM_CAPACITY, expectedEntries);
+        blocks = (int) (((long) capacity * COUNTERS_PER_ENTRY + BLOCK_COUNTERS - 1) / BLOCK_COUNTERS);
+        words = new long[blocks * BLOCK_WORDS];
+    }
+
+    /**
+     * Adds an entry to the filter.
+     *
+     * @param source      the source vertex of the entry
+     * @param destination the destination vertex of the entry
+     */
+    void add(K source, K destination) {
+        long hash = hash(source, destination);
+        int block = block(hash);
+        for (int i = 0; i < PROBES; i++) {
+            int counter = counter(hash, i);
+            int word = block + (counter >>> 4);
+            int shift = (counter & 15) << 2;
+            if ((words[word] >>> shift & MAX_COUNT) < MAX_COUNT) {
+                words[word] += 1L << shift;
+            }
+        }
+        size++;
+    }
+
+    /**
+     * Removes an entry that was added to the filter before.
+     *
+     * @param source      the source vertex of the entry
+     * @param destination the destination vertex of the entry
+     */
+    void remove(K source, K destination) {
+        long hash = hash(source, destination);
+        int block = block(hash);
+        for (int i = 0; i < PROBES; i++) {
+            int counter = counter(hash, i);
+            int word = block + (counter >>> 4);
+            int shift = (counter & 15) << 2;
+            long count = words[word] >>> shift & MAX_COUNT;
+            if (count > 0 && count < MAX_COUNT) {
+                words[word] -= 1L << shift;
+            }
+        }
+        size--;
+    }
+
+    /**
+     * Returns whether the entry might have been added to the filter and not removed since.
+     *
+     * @param source      the source vertex of the entry
+     * @param destination the destination vertex of the entry
+     * @return false if the entry is certainly not in the filter, true if it might be
+     */
+    boolean mightContain(K source, K destination) {
+        long hash = hash(source, destination);
+        int block = block(hash);
+        for (int i = 0; i < PROBES; i++) {
+            int counter = counter(hash, i);
+            if ((words[block + (counter >>> 4)] >>> ((counter & 15) << 2) & MAX_COUNT) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of entries in the filter.
+     *
+     * @return the number of entries
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of entries the filter was sized for.
+     *
+     * @return the capacity of the filter
+     */
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns whether the filter holds more entries than it was sized for, so that its false positive rate
+     * has grown past the intended one.
+     *
+     * @return true if the filter should be rebuilt larger
+     */
+    boolean isFull() {
+        return size > capacity;
+    }
+
+    /**
+     * Returns the memory taken by the counters of the filter.
+     *
+     * @return the size of the counters in bytes
+     */
+    long memory() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    /**
+     * Mixes the hash codes of both vertices of an entry into 64 bits with the finalizer of MurmurHash3. The
+     * entry is directed, so (a, b) and (b, a) hash differently.
+     *
+     * @param source      the source vertex of the entry
+     * @param destination the destination vertex of the entry
+     * @return the hash of the entry
+     */
+    private static long hash(Object source, Object destination) {
+        long h = source.hashCode() * 0x9E3779B97F4A7C15L + destination.hashCode();
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Returns the index of the first word of the block of an entry, chosen by the high 32 bits of its hash.
+     *
+     * @param hash the hash of the entry
+     * @return the index of the first word of the block
+     */
+    private int block(long hash) {
+        return (int) (((hash >>> 32) * blocks) >>> 32) * BLOCK_WORDS;
+    }
+
+    /**
+     * Returns the counter within the block for a probe, chosen by seven of the low 32 bits of the hash.
+     *
+     * @param hash  the hash of the entry
+     * @param probe the index of the probe
+     * @return the index of the counter within the block
+     */
+    private static int counter(long hash, int probe) {
+        return (int) (hash >>> (7 * probe)) & (BLOCK_COUNTERS - 1);
+    }
+}
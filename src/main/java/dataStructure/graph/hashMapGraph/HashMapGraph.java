@@ -3,9 +3,15 @@ package dataStructure.graph.hashMapGraph;
 
 import dataStructure.graph.Graph;
 import dataStructure.graph.Route;
+import dataStructure.hashMap.CuckooHashMap;
+import dataStructure.hashMap.Cursor;
 import dataStructure.hashMap.Entry;
 import dataStructure.hashMap.HashMap;
 import dataStructure.hashMap.LinkedListHashMap;
+import dataStructure.hashMap.LruHashMap;
+import dataStructure.hashMap.PersistentHashMap;
+import dataStructure.hashMap.RobinHoodHashMap;
+import dataStructure.hashMap.SwissHashMap;
 import dataStructure.hashMap.TreeHashMap;
 
 import java.util.*;
@@ -13,6 +19,16 @@ import java.util.*;
 /**
  * A graph implementation using HashMap to store the adjacency map.
  *
+ * <p>The graph can keep an approximate membership filter over its edges, enabled with
+ * {@link #setEdgeFilterEnabled(boolean)}. Checks for edges that are not in the graph are then usually answered
+ * by the filter alone, without looking up the adjacency maps.</p>
+ *
+ * <p>A graph whose adjacency map is a {@link PersistentHashMap} never changes a neighbour map that the adjacency
+ * map has published. Adding or removing an edge puts updated copies of the neighbour maps of both vertices into
+ * the adjacency map in a single version. {@link #snapshot()} then returns a frozen copy of the whole graph in
+ * constant time, so long route computations can run on a consistent view while a single writer keeps updating
+ * the graph.</p>
+ *
  * @param <K> the type of vertex keys in the graph, must implement Comparable interface
  */
 public class HashMapGraph<K extends Comparable<K>> implements Graph<K> {
@@ -23,6 +39,17 @@ public class HashMapGraph<K extends Comparable<K>> implements Graph<K> {
      */
     private final HashMap<K, HashMap<K, Integer>> adjacencyMap;
 
+    /**
+     * The filter over the entries of the neighbour maps, or null if the graph has no filter. Every entry
+     * (source, destination) with destination in the neighbour map of source is in the filter.
+     */
+    private EdgeFilter<K> edgeFilter;
+
+    /**
+     * The results of recent breadth-first searches by source vertex, or null if the graph caches no routes. Any
+     * change to the edges of the graph clears the cache.
+     */
+    private LruHashMap<K, HashMap<K, Route<K>>> routeCache;
 
     /**
      * Constructs a new graph with the given adjacency map.
@@ -44,6 +71,32 @@ public class HashMapGraph<K extends Comparable<K>> implements Graph<K> {
         }
     }
 
+    /**
+     * Adds a vertex to the graph and makes room in its neighbour map for the given number of neighbours, so
+     * that adding its edges does not resize the map along the way.
+     *
+     * @param vertex             the vertex to add
+     * @param expectedNeighbours the number of neighbours the vertex is expected to have
+     */
+    public void addVertex(K vertex, int expectedNeighbours) {
+        HashMap<K, Integer> neighbours = adjacencyMap.get(vertex);
+        if (neighbours == null) {
+            neighbours = createHashMap();
+            adjacencyMap.put(vertex, neighbours);
+        }
+        neighbours.ensureCapacity(expectedNeighbours);
+    }
+
+    /**
+     * Makes room in the adjacency map for the given number of vertices, so that adding them does not resize
+     * the map along the way.
+     *
+     * @param vertices the number of vertices the graph is expected to have
+     */
+    public void ensureCapacity(int vertices) {
+        adjacencyMap.ensureCapacity(vertices);
+    }
+
     /**
      * Adds an undirected edge to the graph between the given source and destination vertices with
      * the given weight.
@@ -55,8 +108,32 @@ public class HashMapGraph<K extends Comparable<K>> implements Graph<K> {
     public void addEdge(K source, K destination, Integer weight) {
         addVertex(source);
         addVertex(destination);
-        adjacencyMap.get(source).put(destination, weight);
-        adjacencyMap.get(destination).put(source, weight);
+        HashMap<K, Integer> sourceNeighbours = adjacencyMap.get(source);
+        HashMap<K, Integer> destinationNeighbours = adjacencyMap.get(destination);
+        if (edgeFilter != null) {
+            if (!hasEntry(source, sourceNeighbours, destination)) {
+                edgeFilter.add(source, destination);
+            }
+            if (!source.equals(destination) && !hasEntry(destination, destinationNeighbours, source)) {
+                edgeFilter.add(destination, source);
+            }
+        }
+        if (adjacencyMap instanceof PersistentHashMap<K, HashMap<K, Integer>> persistentHashMap) {
+            PersistentHashMap<K, Integer> updatedSource =
+                    ((PersistentHashMap<K, Integer>) sourceNeighbours).with(destination, weight);
+            PersistentHashMap<K, Integer> updatedDestination = source.equals(destination)
+                    ? updatedSource : (PersistentHashMap<K, Integer>) destinationNeighbours;
+            updatedDestination = updatedDestination.with(source, weight);
+            persistentHashMap.putAll(List.of(new Entry<>(source, updatedSource),
+                    new Entry<>(destination, updatedDestination)));
+        } else {
+            sourceNeighbours.put(destination, weight);
+            destinationNeighbours.put(source, weight);
+        }
+        invalidateRoutes();
+        if (edgeFilter != null && edgeFilter.isFull()) {
+            rebuildEdgeFilter(edgeFilter.capacity() * 2);
+        }
     }
 
     /**
@@ -65,9 +142,32 @@ public class HashMapGraph<K extends Comparable<K>> implements Graph<K> {
      * @param vertex the vertex to remove
      */
     public void removeVertex(K vertex) {
-        if (adjacencyMap.containsKey(vertex)) {
+        HashMap<K, Integer> neighbours = adjacencyMap.get(vertex);
+        if (neighbours != null) {
+            if (edgeFilter != null) {
+                Cursor<K, Integer> cursor = neighbours.cursor();
+                while (cursor.next()) {
+                    edgeFilter.remove(vertex, cursor.key());
+                }
+            }
             adjacencyMap.remove(vertex);
+            invalidateRoutes();
+        }
+    }
 
+    /**
+     * Removes all the edges of a vertex from the graph, from both ends, and keeps the vertex. Together with
+     * {@link #removeVertex(Object)} this drops a vehicle from the network, for example from the removal listener
+     * of an {@link dataStructure.hashMap.ExpiringHashMap} that tracks when each vehicle was last heard from.
+     *
+     * @param vertex the vertex whose edges to remove
+     */
+    public void removeIncidentEdges(K vertex) {
+        HashMap<K, Integer> neighbours = adjacencyMap.get(vertex);
+        if (neighbours != null) {
+            for (K neighbour : neighbours.keys()) {
+                removeEdge(vertex, neighbour);
+            }
         }
     }
 
@@ -78,10 +178,154 @@ public class HashMapGraph<K extends Comparable<K>> implements Graph<K> {
      * @param destination the destination vertex of the edge
      */
     public void removeEdge(K source, K destination) {
-        if (adjacencyMap.containsKey(source) && adjacencyMap.get(source).containsKey(destination)) {
-            adjacencyMap.get(source).remove(destination);
-            adjacencyMap.get(destination).remove(source);
+        if (edgeFilter != null && !edgeFilter.mightContain(source, destination)) {
+            return;
+        }
+        HashMap<K, Integer> sourceNeighbours = adjacencyMap.get(source);
+        if (sourceNeighbours != null && sourceNeighbours.containsKey(destination)) {
+            HashMap<K, Integer> destinationNeighbours = adjacencyMap.get(destination);
+            if (edgeFilter != null) {
+                edgeFilter.remove(source, destination);
+                if (!source.equals(destination) && hasEntry(destination, destinationNeighbours, source)) {
+                    edgeFilter.remove(destination, source);
+                }
+            }
+            if (adjacencyMap instanceof PersistentHashMap<K, HashMap<K, Integer>> persistentHashMap) {
+                PersistentHashMap<K, Integer> updatedSource =
+                        ((PersistentHashMap<K, Integer>) sourceNeighbours).without(destination);
+                if (source.equals(destination) || destinationNeighbours == null) {
+                    persistentHashMap.put(source, updatedSource);
+                } else {
+                    persistentHashMap.putAll(List.of(new Entry<>(source, updatedSource),
+                            new Entry<>(destination, ((PersistentHashMap<K, Integer>) destinationNeighbours)
+                                    .without(source))));
+                }
+            } else {
+                sourceNeighbours.remove(destination);
+                if (destinationNeighbours != null) {
+                    destinationNeighbours.remove(source);
+                }
+            }
+            invalidateRoutes();
+        }
+    }
+
+    /**
+     * Returns a frozen copy of the graph, in constant time. The copy shares its adjacency map and neighbour maps
+     * with the graph, but later updates of either do not show in the other. The copy has no edge filter.
+     *
+     * @return a copy of the graph
+     * @throws UnsupportedOperationException if the adjacency map of the graph is not a PersistentHashMap
+     */
+    public HashMapGraph<K> snapshot() {
+        if (adjacencyMap instanceof PersistentHashMap<K, HashMap<K, Integer>> persistentHashMap) {
+            return new HashMapGraph<>(persistentHashMap.snapshot());
+        }
+        throw new UnsupportedOperationException("Snapshots need a PersistentHashMap adjacency map");
+    }
+
+    /**
+     * Returns whether the graph has an edge from the given source vertex to the given destination vertex. If the
+     * graph has an edge filter, most absent edges are answered without looking up the adjacency maps.
+     *
+     * @param source      the source vertex of the edge
+     * @param destination the destination vertex of the edge
+     * @return true if the graph has the edge, false otherwise
+     */
+    public boolean containsEdge(K source, K destination) {
+        if (edgeFilter != null && !edgeFilter.mightContain(source, destination)) {
+            return false;
         }
+        HashMap<K, Integer> sourceNeighbours = adjacencyMap.get(source);
+        return sourceNeighbours != null && sourceNeighbours.containsKey(destination);
+    }
+
+    /**
+     * Enables or disables the edge filter of the graph. Enabling it builds the filter from the edges already
+     * in the graph; afterwards the graph keeps it up to date and rebuilds it twice as large whenever it holds
+     * more edges than it was sized for. Each edge takes about twelve bytes of the filter.
+     *
+     * @param enabled whether the graph keeps an edge filter
+     */
+    public void setEdgeFilterEnabled(boolean enabled) {
+        if (!enabled) {
+            edgeFilter = null;
+        } else if (edgeFilter == null) {
+            rebuildEdgeFilter(2 * countEntries());
+        }
+    }
+
+    /**
+     * Returns whether the graph keeps an edge filter.
+     *
+     * @return true if the edge filter is enabled, false otherwise
+     */
+    public boolean isEdgeFilterEnabled() {
+        return edgeFilter != null;
+    }
+
+    /**
+     * Returns the memory taken by the edge filter.
+     *
+     * @return the size of the edge filter in bytes, or 0 if the graph has no edge filter
+     */
+    public long getEdgeFilterMemory() {
+        return edgeFilter != null ? edgeFilter.memory() : 0;
+    }
+
+    /**
+     * Returns whether the neighbour map of the source vertex has an entry for the destination vertex, asking the
+     * edge filter first.
+     *
+     * @param source      the source vertex of the entry
+     * @param neighbours  the neighbour map of the source vertex, or null if it is not in the graph
+     * @param destination the destination vertex of the entry
+     * @return true if the entry is in the neighbour map, false otherwise
+     */
+    private boolean hasEntry(K source, HashMap<K, Integer> neighbours, K destination) {
+        return neighbours != null && edgeFilter.mightContain(source, destination)
+                && neighbours.containsKey(destination);
+    }
+
+    /**
+     * Drops the cached routes, as a change to the edges may have made them wrong.
+     */
+    private void invalidateRoutes() {
+        if (routeCache != null) {
+            routeCache.clear();
+        }
+    }
+
+    /**
+     * Replaces the edge filter with a new one sized for the given number of entries, holding every entry of the
+     * neighbour maps.
+     *
+     * @param expectedEntries the number of entries the new filter is sized for
+     */
+    private void rebuildEdgeFilter(int expectedEntries) {
+        EdgeFilter<K> filter = new EdgeFilter<>(expectedEntries);
+        Cursor<K, HashMap<K, Integer>> cursor = adjacencyMap.cursor();
+        while (cursor.next()) {
+            Cursor<K, Integer> neighbours = cursor.value().cursor();
+            while (neighbours.next()) {
+                filter.add(cursor.key(), neighbours.key());
+            }
+        }
+        edgeFilter = filter;
+    }
+
+    /**
+     * Returns the number of entries of all neighbour maps, which is twice the number of edges apart from loops.
+     *
+     * @return the number of entries
+     */
+    private int countEntries() {
+        int entries = 0;
+        Cursor<K, HashMap<K, Integer>> cursor = adjacencyMap.cursor();
+        while (cursor.next()) {
+            entries += cursor.value().size();
+        }
+        return entries;
     }
 
     /**
@@ -120,20 +364,20 @@ public class HashMapGraph<K extends Comparable<K>> implements Graph<K> {
 
         while (!queue.isEmpty()) {
             K current = queue.poll();
-            HashMap<K, Integer> innerMap = adjacencyMap.get(current);
+            Cursor<K, Integer> innerCursor = adjacencyMap.get(current).cursor();
 
-            for (Entry<K, Integer> innerEntry : innerMap.entries()) {
-                K neighbor = innerEntry.getKey();
+            while (innerCursor.next()) {
+                K neighbor = innerCursor.key();
 
                 if (!visited.contains(neighbor)) {
                     queue.offer(neighbor);
                     visited.add(neighbor);
-                    int distance = distances.get(current).getDistance() + innerEntry.getValue();
+                    int distance = distances.get(current).getDistance() + innerCursor.value();
                     List<K> path = new ArrayList<>(distances.get(current).getPath());
                     path.add(current);
                     distances.put(neighbor, new Route<>(distance, path));
-                } else if (distances.get(neighbor).getDistance() > distances.get(current).getDistance() + innerEntry.getValue()) {
-                    int distance = distances.get(current).getDistance() + innerEntry.getValue();
+                } else if (distances.get(neighbor).getDistance() > distances.get(current).getDistance() + innerCursor.value()) {
+                    int distance = distances.get(current).getDistance() + innerCursor.value();
                     List<K> path = new ArrayList<>(distances.get(current).getPath());
                     path.add(current);
                     distances.put(neighbor, new Route<>(distance, path));
@@ -141,26 +385,54 @@ public class HashMapGraph<K extends Comparable<K>> implements Graph<K> {
             }
         }
 
-        for(Entry<K, Route<K>> distance: distances.entries()){
-            K current = distance.getKey();
-            distance.getValue().getPath().add(current);
-        }
+        distances.forEach((vertex, route) -> route.getPath().add(vertex));
         return distances;
     }
 
     /**
      * Finds the shortest path from the source vertex to the destination vertex using Breadth-First Search algorithm.
+     * If the graph caches routes, the search from the source is reused until the edges of the graph change, and
+     * the returned route is shared with later calls, so it must not be modified.
      *
      * @param source the starting vertex
      * @param destination the ending vertex
      * @return a Route object representing the shortest path from source to destination
      */
     public Route<K> shortestPath(K source, K destination) {
-        // Call bfs to get distances and parents maps
-        HashMap<K, Route<K>> distances = bfs(source);
+        HashMap<K, Route<K>> distances = routeCache != null ? routeCache.get(source) : null;
+        if (distances == null) {
+            // Call bfs to get distances and parents maps
+            distances = bfs(source);
+            if (routeCache != null) {
+                routeCache.put(source, distances);
+            }
+        }
         return (getParents(distances, destination));
     }
 
+    /**
+     * Sets the number of source vertices whose routes the graph keeps for {@link #shortestPath(Object, Object)}.
+     * The routes from the least recently queried source are dropped first. A size of 0 disables the cache.
+     *
+     * @param maximumSources the maximum number of source vertices to cache routes for
+     * @throws IllegalArgumentException if the maximum number of source vertices is negative
+     */
+    public void setRouteCacheSize(int maximumSources) {
+        if (maximumSources < 0)
+            throw new IllegalArgumentException("Illegal route cache size: " +
+                    maximumSources);
+        routeCache = maximumSources > 0 ? new LruHashMap<>(maximumSources) : null;
+    }
+
+    /**
+     * Returns the cache of routes by source vertex, whose counters tell how often it saved a search.
+     *
+     * @return the route cache, or null if the graph caches no routes
+     */
+    public LruHashMap<K, HashMap<K, Route<K>>> getRouteCache() {
+        return routeCache;
+    }
+
     /**
      * Returns a list of vertices in the graph.
      *
@@ -183,16 +455,27 @@ public class HashMapGraph<K extends Comparable<K>> implements Graph<K> {
     }
 
     /**
-     * Creates a new HashMap based on the type of adjacencyMap.
+     * Creates a new HashMap based on the type of adjacencyMap. A LinkedListHashMap neighbour map pools as many
+     * nodes as the adjacency map does.
      *
      * @return a new HashMap based on the type of adjacencyMap
      * @throws IllegalArgumentException if the type of adjacencyMap is invalid
      */
     private HashMap<K, Integer> createHashMap() {
-        if (adjacencyMap instanceof LinkedListHashMap<K, HashMap<K, Integer>>) {
-            return new LinkedListHashMap<>();
+        if (adjacencyMap instanceof LinkedListHashMap<K, HashMap<K, Integer>> linkedListHashMap) {
+            LinkedListHashMap<K, Integer> neighbours = new LinkedListHashMap<>();
+            neighbours.setNodePoolLimit(linkedListHashMap.getNodePoolLimit());
+            return neighbours;
         } else if (adjacencyMap instanceof TreeHashMap<K, HashMap<K, Integer>>) {
             return new TreeHashMap<>();
+        } else if (adjacencyMap instanceof RobinHoodHashMap<K, HashMap<K, Integer>>) {
+            return new RobinHoodHashMap<>();
+        } else if (adjacencyMap instanceof CuckooHashMap<K, HashMap<K, Integer>>) {
+            return new CuckooHashMap<>();
+        } else if (adjacencyMap instanceof SwissHashMap<K, HashMap<K, Integer>>) {
+            return new SwissHashMap<>();
+        } else if (adjacencyMap instanceof PersistentHashMap<K, HashMap<K, Integer>>) {
+            return new PersistentHashMap<>();
         } else {
             throw new IllegalArgumentException("Invalid HashMap type");
         }
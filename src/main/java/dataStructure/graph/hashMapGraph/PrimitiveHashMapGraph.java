@@ -0,0 +1,283 @@
+package dataStructure.graph.hashMapGraph;
+
+import dataStructure.graph.Graph;
+import dataStructure.graph.Route;
+import dataStructure.hashMap.HashMap;
+import dataStructure.hashMap.IntIntHashMap;
+import dataStructure.hashMap.LinkedListHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A graph implementation that gives every vertex a dense integer id and stores the neighbours of each vertex
+ * in an IntIntHashMap from neighbour id to edge weight. Unlike HashMapGraph, adding an edge neither boxes the
+ * weight nor allocates a node, and breadth-first search works on primitive arrays indexed by id.
+ *
+ * @param <K> the type of vertex keys in the graph, must implement Comparable interface
+ */
+public class PrimitiveHashMapGraph<K extends Comparable<K>> implements Graph<K> {
+
+    /**
+     * The map from every vertex in the graph to its id.
+     */
+    private final HashMap<K, Integer> vertexIds;
+
+    /**
+     * The vertices of the graph indexed by their id, with null for ids that are not in use.
+     */
+    private final List<K> vertices = new ArrayList<>();
+
+    /**
+     * The neighbour maps of the vertices indexed by their id. Each map goes from the id of an adjacent vertex
+     * to the weight of the edge.
+     */
+    private final List<IntIntHashMap> neighbours = new ArrayList<>();
+
+    /**
+     * The ids of removed vertices, which are handed out again before new ids are created.
+     */
+    private int[] freeIds = new int[16];
+
+    /**
+     * The number of ids in freeIds.
+     */
+    private int freeCount;
+
+    /**
+     * Constructs a new graph that stores the ids of its vertices in the given map.
+     *
+     * @param hashMap the map from vertices to their ids
+     */
+    public PrimitiveHashMapGraph(HashMap<K, Integer> hashMap) {
+        vertexIds = hashMap;
+    }
+
+    /**
+     * Adds a vertex to the graph.
+     *
+     * @param vertex the vertex to add
+     */
+    public void addVertex(K vertex) {
+        if (!vertexIds.containsKey(vertex)) {
+            int id;
+            if (freeCount > 0) {
+                id = freeIds[--freeCount];
+                vertices.set(id, vertex);
+                neighbours.set(id, new IntIntHashMap());
+            } else {
+                id = vertices.size();
+                vertices.add(vertex);
+                neighbours.add(new IntIntHashMap());
+            }
+            vertexIds.put(vertex, id);
+        }
+    }
+
+    /**
+     * Adds an undirected edge to the graph between the given source and destination vertices with
+     * the given weight.
+     *
+     * @param source      the source vertex of the edge
+     * @param destination the destination vertex of the edge
+     * @param weight      the weight of the edge
+     */
+    public void addEdge(K source, K destination, Integer weight) {
+        addVertex(source);
+        addVertex(destination);
+        int sourceId = vertexIds.get(source);
+        int destinationId = vertexIds.get(destination);
+        neighbours.get(sourceId).put(destinationId, weight);
+        neighbours.get(destinationId).put(sourceId, weight);
+    }
+
+    /**
+     * Removes a vertex and all its edges from the graph. The edges have to go as well, because the id of the
+     * vertex is reused by the next vertex that is added.
+     *
+     * @param vertex the vertex to remove
+     */
+    public void removeVertex(K vertex) {
+        Integer id = vertexIds.get(vertex);
+        if (id != null) {
+            for (int neighbour : neighbours.get(id).keys()) {
+                neighbours.get(neighbour).remove(id);
+            }
+            vertexIds.remove(vertex);
+            vertices.set(id, null);
+            neighbours.set(id, null);
+            if (freeCount == freeIds.length) {
+                freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+            }
+            freeIds[freeCount++] = id;
+        }
+    }
+
+    /**
+     * Removes an undirected edge from the graph between the given source and destination vertices.
+     *
+     * @param source      the source vertex of the edge
+     * @param destination the destination vertex of the edge
+     */
+    public void removeEdge(K source, K destination) {
+        Integer sourceId = vertexIds.get(source);
+        Integer destinationId = vertexIds.get(destination);
+        if (sourceId != null && destinationId != null) {
+            neighbours.get(sourceId).remove(destinationId);
+            neighbours.get(destinationId).remove(sourceId);
+        }
+    }
+
+    /**
+     * Returns the neighbours of the given vertex and the weights of the edges to them.
+     *
+     * @param vertex the vertex whose neighbours are to be returned
+     * @return a map from each neighbour to the weight of the edge, or null if the vertex is not in the graph
+     */
+    public HashMap<K, Integer> getNeighbours(K vertex) {
+        Integer id = vertexIds.get(vertex);
+        if (id == null) {
+            return null;
+        }
+        HashMap<K, Integer> result = new LinkedListHashMap<>();
+        neighbours.get(id).forEach((neighbour, weight) -> result.put(vertices.get(neighbour), weight));
+        return result;
+    }
+
+    /**
+     * Returns the number of vertices in the graph.
+     *
+     * @return the number of vertices in the graph
+     */
+    public int getNumberOfVertices() {
+        return vertexIds.size();
+    }
+
+    /**
+     * Finds the shortest path from the source vertex to the destination vertex using Breadth-First Search
+     * algorithm. The search relaxes the edges in the same way as HashMapGraph.bfs and returns the same route, but
+     * keeps the distance and the path of every vertex in arrays indexed by id and builds a list only for the
+     * destination.
+     *
+     * @param source      the starting vertex
+     * @param destination the ending vertex
+     * @return a Route object representing the shortest path from source to destination, or null if the
+     * destination cannot be reached
+     */
+    public Route<K> shortestPath(K source, K destination) {
+        Integer sourceId = vertexIds.get(source);
+        Integer destinationId = vertexIds.get(destination);
+        if (sourceId == null || destinationId == null) {
+            return null;
+        }
+        Search search = new Search(vertices.size());
+        search.run(sourceId);
+        if (!search.visited[destinationId]) {
+            return null;
+        }
+        List<K> path = new ArrayList<>();
+        path.add(vertices.get(destinationId));
+        for (int hop = search.paths[destinationId]; hop != -1; hop = search.hopPrevious[hop]) {
+            path.add(vertices.get(search.hopVertices[hop]));
+        }
+        Collections.reverse(path);
+        return new Route<>(search.distances[destinationId], path);
+    }
+
+    /**
+     * Returns a list of vertices in the graph.
+     *
+     * @return a list of vertices in the graph
+     */
+    @Override
+    public List<K> getVertices() {
+        return vertexIds.keys();
+    }
+
+    /**
+     * The state of one breadth-first search. It is the action applied to the neighbours of every dequeued
+     * vertex, so that the neighbour maps can be walked without allocating anything per vertex.
+     *
+     * <p>Like HashMapGraph.bfs, the search gives a vertex the path of its parent as it is when the edge is
+     * relaxed, so that a later relaxation of the parent does not change the path of the vertex, which would no
+     * longer match its distance. The paths share their prefixes as chains of hops: a hop holds a vertex and the
+     * hop before it, and relaxing an edge adds one hop.</p>
+     */
+    private class Search implements IntIntHashMap.IntIntConsumer {
+        private final int[] distances;
+        private final int[] paths;
+        private int[] hopVertices;
+        private int[] hopPrevious;
+        private int hops;
+        private final boolean[] visited;
+        private final int[] queue;
+        private int tail;
+        private int current;
+
+        /**
+         * Constructs the state for a search over the given number of ids.
+         *
+         * @param ids the number of ids in use or free
+         */
+        Search(int ids) {
+            distances = new int[ids];
+            paths = new int[ids];
+            hopVertices = new int[ids];
+            hopPrevious = new int[ids];
+            visited = new boolean[ids];
+            queue = new int[ids];
+        }
+
+        /**
+         * Visits every vertex reachable from the given source.
+         *
+         * @param sourceId the id of the source vertex
+         */
+        void run(int sourceId) {
+            queue[tail++] = sourceId;
+            visited[sourceId] = true;
+            paths[sourceId] = -1;
+            for (int head = 0; head < tail; head++) {
+                current = queue[head];
+                neighbours.get(current).forEach(this);
+            }
+        }
+
+        /**
+         * Visits the edge from the current vertex to the given neighbour.
+         *
+         * @param neighbour the id of the neighbour
+         * @param weight    the weight of the edge
+         */
+        @Override
+        public void accept(int neighbour, int weight) {
+            int distance = distances[current] + weight;
+            if (!visited[neighbour]) {
+                queue[tail++] = neighbour;
+                visited[neighbour] = true;
+                distances[neighbour] = distance;
+                paths[neighbour] = addHop();
+            } else if (distances[neighbour] > distance) {
+                distances[neighbour] = distance;
+                paths[neighbour] = addHop();
+            }
+        }
+
+        /**
+         * Adds a hop through the current vertex after the path of the current vertex.
+         *
+         * @return the new hop, which ends the path of a neighbour of the current vertex
+         */
+        private int addHop() {
+            if (hops == hopVertices.length) {
+                hopVertices = Arrays.copyOf(hopVertices, hops * 2);
+                hopPrevious = Arrays.copyOf(hopPrevious, hops * 2);
+            }
+            hopVertices[hops] = current;
+            hopPrevious[hops] = paths[current];
+            return hops++;
+        }
+    }
+}
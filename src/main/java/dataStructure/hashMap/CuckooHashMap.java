@@ -0,0 +1,460 @@
+package dataStructure.hashMap;
+
+import dataStructure.hashMap.hashFunction.HashFunction;
+import dataStructure.hashMap.hashFunction.Multiplicative;
+import dataStructure.hashMap.hashFunction.XOR;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * A hash map implementation that uses cuckoo hashing with two tables, each indexed by its own hash function.
+ * Every key lives either in its slot of the first table or in its slot of the second table, so a lookup
+ * probes at most two slots, plus a small stash that is empty in the common case.
+ *
+ * <p>An insertion that finds both slots taken evicts the key in the first table, which moves to its slot in
+ * the other table, possibly evicting another key in turn. When this chain of evictions grows longer than a
+ * bound that depends on the capacity, the homeless key goes to the stash. Only when the stash is full as well
+ * is the table resized. Keys whose hash codes collide under both functions cannot be separated by resizing, so
+ * while the tables are still sparse the stash is grown instead.</p>
+ *
+ * <p>Two tables of cuckoo hashing stay reliable up to about half of their slots, so the default load factor is
+ * lower than the one of the chained maps.</p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class CuckooHashMap<K, V> implements HashMap<K, V> {
+    /**
+     * Default capacity of the hash table, counting the slots of both tables.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Default load factor of the hash table.
+     */
+    public static final float DEFAULT_LOAD_FACTOR = 0.45f;
+
+    /**
+     * Default resizable property of the hash table.
+     */
+    public static final boolean DEFAULT_RESIZABLE = true;
+
+    /**
+     * Default number of entries the stash can hold before the table is resized.
+     */
+    public static final int DEFAULT_STASH_SIZE = 4;
+    private final float loadFactor;
+    private int capacity;
+    private int size;
+    private final boolean resizable;
+    private int maxDisplacements;
+
+    private K[] firstKeys;
+    private V[] firstValues;
+    private K[] secondKeys;
+    private V[] secondValues;
+    private K[] stashKeys;
+    private V[] stashValues;
+    private int stashSize;
+    private final HashFunction<K> firstHashFunction;
+    private final HashFunction<K> secondHashFunction;
+
+    /**
+     * Constructs a new hash map with the specified initial capacity, resizable property, load factor and hash
+     * functions.
+     *
+     * @param initialCapacity    the initial number of slots, split evenly between the two tables
+     * @param resizable          whether the hash table is resizable
+     * @param loadFactor         the load factor of the hash table
+     * @param firstHashFunction  the hash function indexing the first table
+     * @param secondHashFunction the hash function indexing the second table
+     * @throws IllegalArgumentException if the initial capacity is negative or the load factor is not between
+     *                                  0 (exclusive) and 1 (inclusive)
+     */
+    public CuckooHashMap(int initialCapacity, boolean resizable, float loadFactor,
+                         HashFunction<K> firstHashFunction, HashFunction<K> secondHashFunction) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal initial capacity: " +
+                    initialCapacity);
+        if (loadFactor <= 0 || loadFactor > 1 || Float.isNaN(loadFactor))
+            throw new IllegalArgumentException("Illegal load factor: " +
+                    loadFactor);
+        this.loadFactor = loadFactor;
+        this.resizable = resizable;
+        this.firstHashFunction = firstHashFunction;
+        this.secondHashFunction = secondHashFunction;
+        allocate(Math.max(1, (initialCapacity + 1) / 2));
+        allocateStash(DEFAULT_STASH_SIZE);
+    }
+
+    /**
+     * Constructs a new hash map with the specified capacity, resizable property and load factor, indexing the
+     * first table with the XOR hash function and the second one with the multiplicative hash function.
+     *
+     * @param capacity   the number of slots, split evenly between the two tables
+     * @param resizable  whether or not the hash table is resizable
+     * @param loadFactor the load factor of the hash table
+     */
+    public CuckooHashMap(int capacity, boolean resizable, float loadFactor) {
+        this(capacity, resizable, loadFactor, new XOR<>(), new Multiplicative<>());
+    }
+
+    /**
+     * Constructs a new hash map with the specified capacity and resizable property.
+     *
+     * @param capacity  the number of slots, split evenly between the two tables
+     * @param resizable whether the hash table is resizable
+     */
+    public CuckooHashMap(int capacity, boolean resizable) {
+        this(capacity, resizable, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a new hash map with the specified initial capacity.
+     *
+     * @param initialCapacity the initial number of slots, split evenly between the two tables
+     */
+    public CuckooHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_RESIZABLE);
+    }
+
+    /**
+     * Constructs a new hash map with the default capacity.
+     */
+    public CuckooHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the specified key.
+     *
+     * @param key the key whose presence in this map is to be tested
+     * @return true if this map contains a mapping for the specified key, false otherwise
+     */
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map. A new key is placed in its slot of the
+     * first table, evicting the keys in its way as described in the class documentation.
+     *
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @throws IllegalStateException if the table is full and cannot be resized
+     */
+    public void put(K key, V value) {
+        int index = firstHashFunction.hash(key, capacity);
+        if (key.equals(firstKeys[index])) {
+            firstValues[index] = value;
+            return;
+        }
+        index = secondHashFunction.hash(key, capacity);
+        if (key.equals(secondKeys[index])) {
+            secondValues[index] = value;
+            return;
+        }
+        index = stashIndexOf(key);
+        if (index >= 0) {
+            stashValues[index] = value;
+            return;
+        }
+        if (resizable && size + 1 > 2 * capacity * loadFactor) {
+            resize();
+        } else if (!resizable && size == 2 * capacity) {
+            throw new IllegalStateException("Hash table is full");
+        }
+        place(key, value);
+        size++;
+    }
+
+    /**
+     * Returns the value associated with the specified key in this map, looking at its slot in each table and
+     * then at the stash if it is not empty.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value associated with the specified key, or null if this map contains no mapping for the key
+     */
+    public V get(K key) {
+        int index = firstHashFunction.hash(key, capacity);
+        if (key.equals(firstKeys[index])) {
+            return firstValues[index];
+        }
+        index = secondHashFunction.hash(key, capacity);
+        if (key.equals(secondKeys[index])) {
+            return secondValues[index];
+        }
+        if (stashSize > 0) {
+            index = stashIndexOf(key);
+            if (index >= 0) {
+                return stashValues[index];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present. The slot freed in the tables may let a
+     * stashed key move back into them.
+     *
+     * @param key the key whose mapping is to be removed from the map
+     */
+    public void remove(K key) {
+        int index = firstHashFunction.hash(key, capacity);
+        if (key.equals(firstKeys[index])) {
+            firstKeys[index] = null;
+            firstValues[index] = null;
+        } else if (key.equals(secondKeys[(index = secondHashFunction.hash(key, capacity))])) {
+            secondKeys[index] = null;
+            secondValues[index] = null;
+        } else if ((index = stashIndexOf(key)) >= 0) {
+            removeFromStash(index);
+            size--;
+            return;
+        } else {
+            return;
+        }
+        size--;
+        unstash();
+    }
+
+    /**
+     * This method returns a List of all the keys present in the hash table.
+     *
+     * @return a List of type K containing all the keys present in the hash table.
+     */
+    public List<K> keys() {
+        List<K> keysList = new ArrayList<>(size);
+        forEach((key, value) -> keysList.add(key));
+        return keysList;
+    }
+
+    /**
+     * This method returns a List of all the values present in the hash table.
+     *
+     * @return a List of type V containing all the values present in the hash table.
+     */
+    public List<V> values() {
+        List<V> valuesList = new ArrayList<>(size);
+        forEach((key, value) -> valuesList.add(value));
+        return valuesList;
+    }
+
+    /**
+     * This method returns a List of all the entries present in the hash table.
+     *
+     * @return a List of type Generic class called Entry has K Key, V Value containing all the entries present
+     * in the hash table.
+     */
+    public List<Entry<K, V>> entries() {
+        List<Entry<K, V>> entriesList = new ArrayList<>(size);
+        forEach((key, value) -> entriesList.add(new Entry<>(key, value)));
+        return entriesList;
+    }
+
+    /**
+     * Performs the given action for each entry of the first table, the second table and the stash.
+     *
+     * @param action the action to be performed for each entry
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < capacity; i++) {
+            if (firstKeys[i] != null) {
+                action.accept(firstKeys[i], firstValues[i]);
+            }
+        }
+        for (int i = 0; i < capacity; i++) {
+            if (secondKeys[i] != null) {
+                action.accept(secondKeys[i], secondValues[i]);
+            }
+        }
+        for (int i = 0; i < stashSize; i++) {
+            action.accept(stashKeys[i], stashValues[i]);
+        }
+    }
+
+    /**
+     * Returns the number of entries currently held in the stash.
+     *
+     * @return the number of stashed entries
+     */
+    public int getStashSize() {
+        return stashSize;
+    }
+
+    /**
+     * Places a key that is not in the map, evicting keys between the two tables until one lands in an empty
+     * slot. If the evictions do not settle within the bound, the key left without a slot is stashed.
+     *
+     * @param key   the key to place
+     * @param value the value of the key
+     */
+    private void place(K key, V value) {
+        for (int i = 0; i < maxDisplacements; i++) {
+            int index = firstHashFunction.hash(key, capacity);
+            K evictedKey = firstKeys[index];
+            V evictedValue = firstValues[index];
+            firstKeys[index] = key;
+            firstValues[index] = value;
+            if (evictedKey == null) {
+                return;
+            }
+            index = secondHashFunction.hash(evictedKey, capacity);
+            key = secondKeys[index];
+            value = secondValues[index];
+            secondKeys[index] = evictedKey;
+            secondValues[index] = evictedValue;
+            if (key == null) {
+                return;
+            }
+        }
+        stash(key, value);
+    }
+
+    /**
+     * Puts a key that found no slot into the stash. A full stash causes a resize, unless the tables are so
+     * sparse that the key must collide with the stashed keys under both hash functions, in which case the
+     * stash is grown.
+     *
+     * @param key   the key to stash
+     * @param value the value of the key
+     */
+    private void stash(K key, V value) {
+        if (stashSize == stashKeys.length) {
+            if (resizable && size >= capacity / 2) {
+                resize();
+                place(key, value);
+                return;
+            }
+            stashKeys = Arrays.copyOf(stashKeys, stashSize * 2);
+            stashValues = Arrays.copyOf(stashValues, stashSize * 2);
+        }
+        stashKeys[stashSize] = key;
+        stashValues[stashSize] = value;
+        stashSize++;
+    }
+
+    /**
+     * Moves the stashed keys whose slot in either table is free back into the tables.
+     */
+    private void unstash() {
+        for (int i = stashSize - 1; i >= 0; i--) {
+            K key = stashKeys[i];
+            int index = firstHashFunction.hash(key, capacity);
+            if (firstKeys[index] == null) {
+                firstKeys[index] = key;
+                firstValues[index] = stashValues[i];
+                removeFromStash(i);
+                continue;
+            }
+            index = secondHashFunction.hash(key, capacity);
+            if (secondKeys[index] == null) {
+                secondKeys[index] = key;
+                secondValues[index] = stashValues[i];
+                removeFromStash(i);
+            }
+        }
+    }
+
+    /**
+     * Returns the position of the specified key in the stash.
+     *
+     * @param key the key to search for
+     * @return the position of the key in the stash, or -1 if the key is not stashed
+     */
+    private int stashIndexOf(K key) {
+        for (int i = 0; i < stashSize; i++) {
+            if (key.equals(stashKeys[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the entry at the given position of the stash by moving the last stashed entry into its place.
+     *
+     * @param index the position of the entry to remove
+     */
+    private void removeFromStash(int index) {
+        stashSize--;
+        stashKeys[index] = stashKeys[stashSize];
+        stashValues[index] = stashValues[stashSize];
+        stashKeys[stashSize] = null;
+        stashValues[stashSize] = null;
+    }
+
+    /**
+     * Resizes the hash table by doubling the capacity of both tables and placing all the entries again. The
+     * stash is emptied and shrunk back to its default size.
+     */
+    private void resize() {
+        K[] oldFirstKeys = firstKeys;
+        V[] oldFirstValues = firstValues;
+        K[] oldSecondKeys = secondKeys;
+        V[] oldSecondValues = secondValues;
+        K[] oldStashKeys = stashKeys;
+        V[] oldStashValues = stashValues;
+        int oldStashSize = stashSize;
+        allocate(capacity * 2);
+        allocateStash(DEFAULT_STASH_SIZE);
+        for (int i = 0; i < oldFirstKeys.length; i++) {
+            if (oldFirstKeys[i] != null) {
+                place(oldFirstKeys[i], oldFirstValues[i]);
+            }
+        }
+        for (int i = 0; i < oldSecondKeys.length; i++) {
+            if (oldSecondKeys[i] != null) {
+                place(oldSecondKeys[i], oldSecondValues[i]);
+            }
+        }
+        for (int i = 0; i < oldStashSize; i++) {
+            place(oldStashKeys[i], oldStashValues[i]);
+        }
+    }
+
+    /**
+     * Allocates two empty tables of the given capacity and sets the bound on evictions for them, which grows
+     * with the logarithm of the capacity.
+     *
+     * @param capacity the number of slots in each table
+     */
+    private void allocate(int capacity) {
+        this.capacity = capacity;
+        this.maxDisplacements = 8 + 2 * (32 - Integer.numberOfLeadingZeros(capacity));
+        //noinspection unchecked
+        this.firstKeys = (K[]) new Object[capacity];
+        //noinspection unchecked
+        this.firstValues = (V[]) new Object[capacity];
+        //noinspection unchecked
+        this.secondKeys = (K[]) new Object[capacity];
+        //noinspection unchecked
+        this.secondValues = (V[]) new Object[capacity];
+    }
+
+    /**
+     * Allocates an empty stash of the given size.
+     *
+     * @param stashSize the number of entries the stash can hold
+     */
+    private void allocateStash(int stashSize) {
+        //noinspection unchecked
+        this.stashKeys = (K[]) new Object[stashSize];
+        //noinspection unchecked
+        this.stashValues = (V[]) new Object[stashSize];
+        this.stashSize = 0;
+    }
+}
@@ -0,0 +1,38 @@
+package dataStructure.hashMap;
+
+/**
+ * A cursor over the entries of a hash map. Unlike an iterator, it does not return an object per entry: each call
+ * to {@link #next()} moves it to the next entry, whose key and value are then read with {@link #key()} and
+ * {@link #value()}. A cursor can be rewound with {@link #reset()} and walked again, so one cursor serves any
+ * number of traversals. The map must not be modified while it is being walked.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public interface Cursor<K, V> {
+    /**
+     * Moves the cursor to the next entry.
+     *
+     * @return true if the cursor is on an entry, false if there are no more entries
+     */
+    boolean next();
+
+    /**
+     * Returns the key of the entry the cursor is on.
+     *
+     * @return the key of the current entry, or null if the cursor is not on an entry
+     */
+    K key();
+
+    /**
+     * Returns the value of the entry the cursor is on.
+     *
+     * @return the value of the current entry, or null if the cursor is not on an entry
+     */
+    V value();
+
+    /**
+     * Moves the cursor back before the first entry, so that the map can be walked again.
+     */
+    void reset();
+}
@@ -0,0 +1,54 @@
+package dataStructure.hashMap;
+
+import java.util.List;
+
+/**
+ * A cursor over a copy of the entries of a hash map, used by maps that cannot walk their buckets in place.
+ * The entries are copied when the cursor is created and again on every reset.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+class EntryCursor<K, V> implements Cursor<K, V> {
+    private final HashMap<K, V> map;
+    private List<Entry<K, V>> entries;
+    private int index;
+    private Entry<K, V> entry;
+
+    /**
+     * Constructs a new cursor over the entries of the given map.
+     *
+     * @param map the map to walk
+     */
+    EntryCursor(HashMap<K, V> map) {
+        this.map = map;
+        reset();
+    }
+
+    @Override
+    public boolean next() {
+        if (index < entries.size()) {
+            entry = entries.get(index++);
+            return true;
+        }
+        entry = null;
+        return false;
+    }
+
+    @Override
+    public K key() {
+        return entry != null ? entry.getKey() : null;
+    }
+
+    @Override
+    public V value() {
+        return entry != null ? entry.getValue() : null;
+    }
+
+    @Override
+    public void reset() {
+        entries = map.entries();
+        index = 0;
+        entry = null;
+    }
+}
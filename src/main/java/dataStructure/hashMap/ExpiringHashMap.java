@@ -0,0 +1,431 @@
+package dataStructure.hashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * A hash map implementation whose entries expire a fixed time to live after they were last put. The entries are
+ * kept in a {@link LinkedListHashMap} and, ordered by deadline, in a hierarchical timing wheel, so expiring an
+ * entry costs amortized constant time instead of a scan over all the keys.
+ *
+ * <p>The wheel has {@link #LEVELS} levels of 64 slots. A slot of the lowest level holds the entries due in one
+ * tick, a slot of the next level the entries due in 64 ticks, and so on. Each time the clock passes a tick, the
+ * entries of the current lowest-level slot expire; each time it passes the start of a slot of a higher level,
+ * the entries of that slot move down to the levels below. Entries due beyond the reach of the highest level
+ * wait in an overflow list. Deadlines are rounded up to whole ticks, so an entry expires at most one tick late
+ * and never early.</p>
+ *
+ * <p>The wheel keeps a bit per slot that is set while the slot may hold entries, and jumps from one such slot to
+ * the next instead of stepping through every tick, so catching up after a quiet period does not depend on how
+ * long it was. Each entry costs a constant amount of work when it is put, at most {@link #LEVELS} moves down the
+ * wheel, and one more pass through the overflow list for every 2<sup>24</sup> ticks of its time to live, which
+ * makes expiring amortized constant time per entry.</p>
+ *
+ * <p>Expired entries are removed by {@link #expire()}, which every other method calls first, and are then
+ * reported to the removal listener, if there is one. Entries removed with {@link #remove(Object)} are not
+ * reported.</p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class ExpiringHashMap<K, V> implements HashMap<K, V> {
+    /**
+     * Default duration of a tick of the timing wheel, in nanoseconds.
+     */
+    public static final long DEFAULT_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Number of levels of the timing wheel.
+     */
+    public static final int LEVELS = 4;
+
+    /**
+     * Number of bits of the tick index consumed per level of the timing wheel.
+     */
+    private static final int BITS = 6;
+
+    /**
+     * Number of slots per level of the timing wheel.
+     */
+    private static final int SLOTS = 1 << BITS;
+
+    /**
+     * Mask of the slot index within a level of the timing wheel.
+     */
+    private static final int MASK = SLOTS - 1;
+
+    private final LinkedListHashMap<K, Timer<K, V>> map = new LinkedListHashMap<>();
+    private final long timeToLiveNanos;
+    private final long tickNanos;
+    private final LongSupplier clock;
+    private final long origin;
+    private final Timer<K, V>[][] wheel;
+    private final long[] occupied = new long[LEVELS];
+    private final Timer<K, V> overflow = new Timer<>(null);
+    private long overflowDeadlineTick = Long.MAX_VALUE;
+    private long currentTick;
+    private boolean expiring;
+    private BiConsumer<? super K, ? super V> removalListener;
+
+    /**
+     * Constructs a new empty map with the specified time to live, tick duration and clock.
+     *
+     * @param timeToLive   the time an entry lives after it was last put
+     * @param tickDuration the duration of a tick of the timing wheel
+     * @param unit         the unit of the time to live and the tick duration
+     * @param clock        the clock that tells the current time in nanoseconds, such as {@code System::nanoTime}
+     * @throws IllegalArgumentException if the time to live or the tick duration is not positive
+     */
+    public ExpiringHashMap(long timeToLive, long tickDuration, TimeUnit unit, LongSupplier clock) {
+        if (timeToLive <= 0)
+            throw new IllegalArgumentException("Illegal time to live: " +
+                    timeToLive);
+        if (tickDuration <= 0)
+            throw new IllegalArgumentException("Illegal tick duration: " +
+                    tickDuration);
+        this.timeToLiveNanos = unit.toNanos(timeToLive);
+        this.tickNanos = Math.max(1, unit.toNanos(tickDuration));
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+        //noinspection unchecked
+        this.wheel = new Timer[LEVELS][SLOTS];
+        for (Timer<K, V>[] level : wheel) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                level[slot] = new Timer<>(null);
+            }
+        }
+    }
+
+    /**
+     * Constructs a new empty map with the specified time to live, the default tick duration and the system clock.
+     *
+     * @param timeToLive the time an entry lives after it was last put
+     * @param unit       the unit of the time to live
+     * @throws IllegalArgumentException if the time to live is not positive
+     */
+    public ExpiringHashMap(long timeToLive, TimeUnit unit) {
+        this(unit.toNanos(timeToLive), DEFAULT_TICK_NANOS, TimeUnit.NANOSECONDS, System::nanoTime);
+    }
+
+    /**
+     * Sets the listener that is told the key and value of every entry that expires. The listener may update
+     * this map; entries it puts expire a full time to live later.
+     *
+     * @param removalListener the listener, or null for none
+     */
+    public void setRemovalListener(BiConsumer<? super K, ? super V> removalListener) {
+        this.removalListener = removalListener;
+    }
+
+    /**
+     * Returns the listener that is told about expired entries.
+     *
+     * @return the listener, or null if there is none
+     */
+    public BiConsumer<? super K, ? super V> getRemovalListener() {
+        return removalListener;
+    }
+
+    /**
+     * Returns the time an entry lives after it was last put.
+     *
+     * @param unit the unit to return the time in
+     * @return the time to live
+     */
+    public long getTimeToLive(TimeUnit unit) {
+        return unit.convert(timeToLiveNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map that have not expired.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        expire();
+        return map.size();
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the specified key that has not expired.
+     *
+     * @param key the key whose presence in this map is to be tested
+     * @return true if this map contains a mapping for the specified key, false otherwise
+     */
+    public boolean containsKey(K key) {
+        expire();
+        return map.containsKey(key);
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map and restarts the time to live of the key.
+     *
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     */
+    public void put(K key, V value) {
+        long now = clock.getAsLong();
+        expire(now);
+        Timer<K, V> timer = map.get(key);
+        if (timer == null) {
+            timer = new Timer<>(key);
+            map.put(key, timer);
+        } else {
+            timer.unlink();
+        }
+        timer.value = value;
+        // Round up, so that the entry is not expired before its deadline.
+        timer.deadlineTick = (now - origin + timeToLiveNanos + tickNanos - 1) / tickNanos;
+        schedule(timer, currentTick + 1);
+    }
+
+    /**
+     * Returns the value associated with the specified key in this map. Reading an entry does not restart its
+     * time to live.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value associated with the specified key, or {@code null} if this map contains no mapping for the key
+     */
+    public V get(K key) {
+        expire();
+        Timer<K, V> timer = map.get(key);
+        return timer != null ? timer.value : null;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present, without telling the removal listener.
+     *
+     * @param key the key whose mapping is to be removed from the map
+     */
+    public void remove(K key) {
+        expire();
+        Timer<K, V> timer = map.get(key);
+        if (timer != null) {
+            timer.unlink();
+            map.remove(key);
+        }
+    }
+
+    /**
+     * This method returns a List of all the keys present in the hash table.
+     *
+     * @return a List of type K containing all the keys present in the hash table.
+     */
+    public List<K> keys() {
+        expire();
+        return map.keys();
+    }
+
+    /**
+     * This method returns a List of all the values present in the hash table.
+     *
+     * @return a List of type V containing all the values present in the hash table.
+     */
+    public List<V> values() {
+        expire();
+        List<V> values = new ArrayList<>(map.size());
+        map.forEach((key, timer) -> values.add(timer.value));
+        return values;
+    }
+
+    /**
+     * This method returns a List of all the entries present in the hash table.
+     *
+     * @return a List of type Generic class called Entry has K Key, V Value containing all the entries present
+     * in the hash table.
+     */
+    public List<Entry<K, V>> entries() {
+        expire();
+        List<Entry<K, V>> entries = new ArrayList<>(map.size());
+        map.forEach((key, timer) -> entries.add(new Entry<>(key, timer.value)));
+        return entries;
+    }
+
+    /**
+     * Removes the entries whose time to live has run out and tells the removal listener about them. The wheel
+     * only stops at the ticks where a slot that may hold entries expires or moves down, and then jumps straight
+     * to the current tick.
+     */
+    public void expire() {
+        expire(clock.getAsLong());
+    }
+
+    /**
+     * Removes the entries whose time to live had run out at the given time.
+     *
+     * @param now the current time in nanoseconds
+     */
+    private void expire(long now) {
+        if (expiring) {
+            return;
+        }
+        long nowTick = (now - origin) / tickNanos;
+        if (map.size() == 0) {
+            // Removed entries may have left their bits set, which would only cost visits to empty slots.
+            Arrays.fill(occupied, 0);
+            overflowDeadlineTick = Long.MAX_VALUE;
+            currentTick = Math.max(currentTick, nowTick);
+            return;
+        }
+        // The removal listener may call back into the map, which must not advance the wheel meanwhile.
+        expiring = true;
+        try {
+            long tick;
+            while ((tick = nextTick()) <= nowTick) {
+                currentTick = tick;
+                advance();
+            }
+            currentTick = Math.max(currentTick, nowTick);
+        } finally {
+            expiring = false;
+        }
+    }
+
+    /**
+     * Returns the next tick at which the wheel has work to do: the start of the next slot of the lowest level
+     * whose bit is set, or the start of the overflow group of the earliest deadline in the overflow list. A slot
+     * of a level starts before any slot of the levels above that is still ahead, so the lowest level with a set
+     * bit ahead of the current slot gives the next tick.
+     *
+     * @return the next tick at which entries may expire or move down, or {@link Long#MAX_VALUE} if there is none
+     */
+    private long nextTick() {
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = BITS * level;
+            long ahead = occupied[level] & (-2L << ((int) (currentTick >>> shift) & MASK));
+            if (ahead != 0) {
+                long group = currentTick >>> (shift + BITS) << (shift + BITS);
+                return group + ((long) Long.numberOfTrailingZeros(ahead) << shift);
+            }
+        }
+        if (overflow.next != overflow) {
+            int shift = BITS * LEVELS;
+            return Math.max((currentTick >>> shift) + 1, overflowDeadlineTick >>> shift) << shift;
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Moves the wheel to the current tick: moves the entries of the slots starting at this tick down to the
+     * levels below, highest level first, and then expires the entries of the current lowest-level slot.
+     */
+    private void advance() {
+        if ((currentTick & ((1L << (BITS * LEVELS)) - 1)) == 0) {
+            overflowDeadlineTick = Long.MAX_VALUE;
+            cascade(overflow);
+        }
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if ((currentTick & ((1L << (BITS * level)) - 1)) == 0) {
+                int index = (int) (currentTick >>> (BITS * level)) & MASK;
+                occupied[level] &= ~(1L << index);
+                cascade(wheel[level][index]);
+            }
+        }
+        int index = (int) currentTick & MASK;
+        occupied[0] &= ~(1L << index);
+        Timer<K, V> slot = wheel[0][index];
+        while (slot.next != slot) {
+            Timer<K, V> timer = slot.next;
+            timer.unlink();
+            if (timer.deadlineTick > currentTick) {
+                schedule(timer, currentTick + 1);
+                continue;
+            }
+            map.remove(timer.key);
+            if (removalListener != null) {
+                removalListener.accept(timer.key, timer.value);
+            }
+        }
+    }
+
+    /**
+     * Schedules again all the entries of a slot, which moves them to the levels below. An entry due at the
+     * current tick goes to the current lowest-level slot, which {@link #advance()} expires right after.
+     *
+     * @param slot the sentinel of the slot
+     */
+    private void cascade(Timer<K, V> slot) {
+        Timer<K, V> timer = slot.next;
+        slot.next = slot;
+        slot.previous = slot;
+        while (timer != slot) {
+            Timer<K, V> next = timer.next;
+            schedule(timer, currentTick);
+            timer = next;
+        }
+    }
+
+    /**
+     * Links an entry into the slot of its deadline and marks the slot as occupied. The entry goes to the lowest
+     * level whose current slot group contains the deadline, so that the slot is reached before the deadline
+     * passes. A deadline before the given earliest tick is moved up to it.
+     *
+     * @param timer        the entry to schedule
+     * @param earliestTick the earliest tick whose slot is still to be expired: the current tick while its slots
+     *                     are being cascaded, the next tick otherwise
+     */
+    private void schedule(Timer<K, V> timer, long earliestTick) {
+        long tick = Math.max(timer.deadlineTick, earliestTick);
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = BITS * (level + 1);
+            if (tick >>> shift == currentTick >>> shift) {
+                int index = (int) (tick >>> (BITS * level)) & MASK;
+                occupied[level] |= 1L << index;
+                timer.linkBefore(wheel[level][index]);
+                return;
+            }
+        }
+        overflowDeadlineTick = Math.min(overflowDeadlineTick, tick);
+        timer.linkBefore(overflow);
+    }
+
+    /**
+     * An entry of the map, linked into the circular list of the slot of its deadline. Every slot has a sentinel
+     * entry without a key, so that an entry can unlink itself without knowing its slot.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    private static final class Timer<K, V> {
+        private final K key;
+        private V value;
+        private long deadlineTick;
+        private Timer<K, V> previous = this;
+        private Timer<K, V> next = this;
+
+        /**
+         * Constructs a new unlinked entry.
+         *
+         * @param key the key of the entry, or null for a sentinel
+         */
+        Timer(K key) {
+            this.key = key;
+        }
+
+        /**
+         * Links this entry into a slot, before its sentinel, so at the end of the list.
+         *
+         * @param sentinel the sentinel of the slot
+         */
+        void linkBefore(Timer<K, V> sentinel) {
+            previous = sentinel.previous;
+            next = sentinel;
+            sentinel.previous.next = this;
+            sentinel.previous = this;
+        }
+
+        /**
+         * Unlinks this entry from its slot.
+         */
+        void unlink() {
+            previous.next = next;
+            next.previous = previous;
+            previous = this;
+            next = this;
+        }
+    }
+}
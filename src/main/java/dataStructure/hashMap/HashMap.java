@@ -1,6 +1,9 @@
 package dataStructure.hashMap;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.BiConsumer;
 
 /**
  * The HashMap interface defines the basic operations that can be performed on a hash map data structure.
@@ -48,6 +51,50 @@ public interface HashMap<K, V> {
      */
     void remove(K key);
 
+    /**
+     * Makes room in this map for the given number of entries, so that they can be added without the table being
+     * resized along the way. The default implementation does nothing; maps that can size their table override it.
+     * A map that is not resizable keeps the capacity it was created with.
+     *
+     * @param expectedSize the number of entries the map should be able to hold
+     */
+    default void ensureCapacity(int expectedSize) {
+    }
+
+    /**
+     * Copies all of the given entries into this map. The table is sized once for all of them up front, so that
+     * adding a large batch does not double it over and over. Later entries replace earlier ones with the same key.
+     *
+     * @param entries the entries to be stored in this map
+     */
+    default void putAll(Collection<? extends Entry<? extends K, ? extends V>> entries) {
+        ensureCapacity(size() + entries.size());
+        for (Entry<? extends K, ? extends V> entry : entries) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Copies all of the given entries into this map. The table is sized once for all of them up front, so that
+     * adding a large batch does not double it over and over. Later entries replace earlier ones with the same key.
+     *
+     * @param entries the entries to be stored in this map
+     */
+    default void putAll(Entry<? extends K, ? extends V>[] entries) {
+        putAll(Arrays.asList(entries));
+    }
+
+    /**
+     * Removes the mappings for all of the given keys from this map. Keys that are not present are ignored.
+     *
+     * @param keys the keys whose mappings are to be removed from the map
+     */
+    default void removeAll(Collection<? extends K> keys) {
+        for (K key : keys) {
+            remove(key);
+        }
+    }
+
     /**
      * Returns a list of the keys contained in this map.
      *
@@ -68,4 +115,27 @@ public interface HashMap<K, V> {
      * @return a list of the entries (key-value pairs) contained in this map
      */
     List<Entry<K, V>> entries();
+
+    /**
+     * Performs the given action for each entry in this map. The default implementation walks the copy made by
+     * {@link #entries()}; maps that can walk their buckets in place override it.
+     *
+     * @param action the action to be performed for each key-value pair
+     */
+    default void forEach(BiConsumer<? super K, ? super V> action) {
+        for (Entry<K, V> entry : entries()) {
+            action.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Returns a cursor over the entries of this map. The default implementation walks the copy made by
+     * {@link #entries()}; maps that can walk their buckets in place override it, so that a traversal allocates
+     * nothing but the cursor itself.
+     *
+     * @return a cursor positioned before the first entry of this map
+     */
+    default Cursor<K, V> cursor() {
+        return new EntryCursor<>(this);
+    }
 }
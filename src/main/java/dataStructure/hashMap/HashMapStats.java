@@ -0,0 +1,182 @@
+package dataStructure.hashMap;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * An immutable snapshot of the shape and the counters of a hash map. The bucket histogram and the depth tell
+ * whether lookups are slowed down by collisions, and the resize counters whether they are slowed down by
+ * rehashing. While an incremental resize is in progress, the buckets of the old table that still hold entries
+ * are counted next to those of the new table. The other buckets of the old table, whether already migrated or
+ * empty from the start, never receive entries again and are left out.
+ *
+ * <p>Maps that keep these counters implement {@link HashMapStatsMXBean}, so they can be published over JMX
+ * with {@link #register(String, HashMapStatsMXBean)}.</p>
+ */
+public class HashMapStats {
+    private final int size;
+    private final int capacity;
+    private final int[] bucketHistogram;
+    private final int maxDepth;
+    private final long resizeCount;
+    private final long resizeTimeNanos;
+    private final long getCount;
+    private final long getProbeCount;
+
+    /**
+     * Constructs a new snapshot.
+     *
+     * @param size            the number of entries in the map
+     * @param capacity        the number of buckets of the map
+     * @param bucketHistogram the number of buckets holding each number of entries, indexed by that number
+     * @param maxDepth        the length of the longest chain or the height of the highest tree
+     * @param resizeCount     the number of times the table has been resized or rebuilt
+     * @param resizeTimeNanos the total time spent resizing, rebuilding and migrating buckets, in nanoseconds
+     * @param getCount        the number of lookups
+     * @param getProbeCount   the total number of entries compared with the key by those lookups
+     */
+    public HashMapStats(int size, int capacity, int[] bucketHistogram, int maxDepth, long resizeCount,
+                        long resizeTimeNanos, long getCount, long getProbeCount) {
+        this.size = size;
+        this.capacity = capacity;
+        this.bucketHistogram = bucketHistogram.clone();
+        this.maxDepth = maxDepth;
+        this.resizeCount = resizeCount;
+        this.resizeTimeNanos = resizeTimeNanos;
+        this.getCount = getCount;
+        this.getProbeCount = getProbeCount;
+    }
+
+    /**
+     * Registers the given map with the platform MBean server, so that its statistics can be read with any JMX
+     * client. The map stays reachable until it is unregistered.
+     *
+     * @param name the name that identifies the map among the registered ones
+     * @param map  the map to register
+     * @return the name the map was registered under
+     * @throws IllegalArgumentException if the name is already taken or the map cannot be registered
+     */
+    public static ObjectName register(String name, HashMapStatsMXBean map) {
+        try {
+            ObjectName objectName = new ObjectName("dataStructure.hashMap:type=HashMapStats,name="
+                    + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(map, objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Cannot register hash map " + name, e);
+        }
+    }
+
+    /**
+     * Returns the number of entries in the map.
+     *
+     * @return the number of entries
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of buckets of the map.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the ratio of entries to buckets.
+     *
+     * @return the load of the map
+     */
+    public float getLoad() {
+        return capacity == 0 ? 0 : (float) size / capacity;
+    }
+
+    /**
+     * Returns how many buckets hold each number of entries. The element at index {@code i} is the number of
+     * buckets holding exactly {@code i} entries, so the first element counts the empty buckets.
+     *
+     * @return the bucket occupancy histogram
+     */
+    public int[] getBucketHistogram() {
+        return bucketHistogram.clone();
+    }
+
+    /**
+     * Returns the length of the longest chain, or the height of the highest tree for buckets that are trees.
+     *
+     * @return the maximum bucket depth
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Returns the number of times the table has been resized or rebuilt since the counters were last reset.
+     *
+     * @return the number of resizes
+     */
+    public long getResizeCount() {
+        return resizeCount;
+    }
+
+    /**
+     * Returns the total time spent resizing, rebuilding and migrating buckets since the counters were last reset.
+     *
+     * @return the resize time in nanoseconds
+     */
+    public long getResizeTimeNanos() {
+        return resizeTimeNanos;
+    }
+
+    /**
+     * Returns the number of lookups since the counters were last reset.
+     *
+     * @return the number of lookups
+     */
+    public long getGetCount() {
+        return getCount;
+    }
+
+    /**
+     * Returns the total number of entries compared with the key by lookups since the counters were last reset.
+     *
+     * @return the number of probes
+     */
+    public long getGetProbeCount() {
+        return getProbeCount;
+    }
+
+    /**
+     * Returns the average number of entries compared with the key by a lookup.
+     *
+     * @return the average number of probes per lookup, or 0 if there were no lookups
+     */
+    public double getAverageProbesPerGet() {
+        return getCount == 0 ? 0 : (double) getProbeCount / getCount;
+    }
+
+    /**
+     * Returns a string representation of the snapshot.
+     *
+     * @return a string representation of the snapshot
+     */
+    @Override
+    public String toString() {
+        return "HashMapStats{" +
+                "size=" + size +
+                ", capacity=" + capacity +
+                ", load=" + getLoad() +
+                ", bucketHistogram=" + Arrays.toString(bucketHistogram) +
+                ", maxDepth=" + maxDepth +
+                ", resizeCount=" + resizeCount +
+                ", resizeTimeNanos=" + resizeTimeNanos +
+                ", getCount=" + getCount +
+                ", averageProbesPerGet=" + getAverageProbesPerGet() +
+                '}';
+    }
+}
@@ -0,0 +1,23 @@
+package dataStructure.hashMap;
+
+/**
+ * The management interface of hash maps that keep statistics about their buckets, lookups and resizes. Maps
+ * implementing it can be registered with {@link HashMapStats#register(String, HashMapStatsMXBean)}.
+ *
+ * <p>The maps themselves are not thread-safe. A snapshot taken over JMX while the map is being modified
+ * reads the counters and buckets without synchronization and is only an approximation.</p>
+ */
+public interface HashMapStatsMXBean {
+    /**
+     * Returns a snapshot of the statistics of the map. The bucket histogram and depth are computed by walking
+     * every bucket, so taking a snapshot costs time linear in the size of the map.
+     *
+     * @return the current statistics
+     */
+    HashMapStats getStats();
+
+    /**
+     * Resets the resize and lookup counters to zero.
+     */
+    void resetStats();
+}
@@ -0,0 +1,283 @@
+package dataStructure.hashMap;
+
+/**
+ * A hash map from {@code int} keys to {@code int} values that stores both in flat primitive arrays, so neither
+ * keys nor values are ever boxed and no object is allocated per entry. Collisions are resolved with linear
+ * probing over a power-of-two table, and removals shift the following entries back instead of leaving
+ * tombstones.
+ *
+ * <p>Key {@code 0} marks a free slot in the key array, so a mapping for that key is kept in a separate field.
+ * Lookups of absent keys return {@link #NO_VALUE}.</p>
+ */
+public class IntIntHashMap {
+    /**
+     * Default capacity of the hash table.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Default load factor of the hash table.
+     */
+    public static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * The value returned by {@link #get(int)} for keys that have no mapping.
+     */
+    public static final int NO_VALUE = Integer.MIN_VALUE;
+    private static final int FREE_KEY = 0;
+    private final float loadFactor;
+    private int[] keys;
+    private int[] values;
+    private int size;
+    private int threshold;
+    private boolean hasFreeKey;
+    private int freeKeyValue;
+
+    /**
+     * Constructs a new hash map with the specified initial capacity and load factor.
+     *
+     * @param initialCapacity the initial capacity of the hash table, rounded up to a power of two
+     * @param loadFactor      the load factor of the hash table
+     * @throws IllegalArgumentException if the initial capacity is negative or the load factor is not
+     *                                  between 0 (exclusive) and 1 (exclusive)
+     */
+    public IntIntHashMap(int initialCapacity, float loadFactor) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal initial capacity: " +
+                    initialCapacity);
+        if (loadFactor <= 0 || loadFactor >= 1 || Float.isNaN(loadFactor))
+            throw new IllegalArgumentException("Illegal load factor: " +
+                    loadFactor);
+        this.loadFactor = loadFactor;
+        allocate(initialCapacity <= 2 ? 2 : Integer.highestOneBit(initialCapacity - 1) << 1);
+    }
+
+    /**
+     * Constructs a new hash map with the specified initial capacity.
+     *
+     * @param initialCapacity the initial capacity of the hash table
+     */
+    public IntIntHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a new hash map with the default capacity.
+     */
+    public IntIntHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the specified key.
+     *
+     * @param key the key whose presence in this map is to be tested
+     * @return true if this map contains a mapping for the specified key, false otherwise
+     */
+    public boolean containsKey(int key) {
+        if (key == FREE_KEY) {
+            return hasFreeKey;
+        }
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     *
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     */
+    public void put(int key, int value) {
+        if (key == FREE_KEY) {
+            if (!hasFreeKey) {
+                hasFreeKey = true;
+                size++;
+            }
+            freeKeyValue = value;
+            return;
+        }
+        int mask = keys.length - 1;
+        int index = mix(key) & mask;
+        while (keys[index] != FREE_KEY) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > threshold) {
+            resize();
+        }
+    }
+
+    /**
+     * Returns the value associated with the specified key in this map.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value associated with the specified key, or {@link #NO_VALUE} if this map contains no mapping
+     * for the key
+     */
+    public int get(int key) {
+        if (key == FREE_KEY) {
+            return hasFreeKey ? freeKeyValue : NO_VALUE;
+        }
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : NO_VALUE;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present. The entries following the removed one in
+     * its probe sequence are moved back, so that every entry stays reachable from its home slot.
+     *
+     * @param key the key whose mapping is to be removed from the map
+     */
+    public void remove(int key) {
+        if (key == FREE_KEY) {
+            if (hasFreeKey) {
+                hasFreeKey = false;
+                size--;
+            }
+            return;
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            return;
+        }
+        int mask = keys.length - 1;
+        int gap = index;
+        int next = (gap + 1) & mask;
+        while (keys[next] != FREE_KEY) {
+            int home = mix(keys[next]) & mask;
+            // The entry may fill the gap unless its home slot lies cyclically between the gap and itself.
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = FREE_KEY;
+        size--;
+    }
+
+    /**
+     * Returns an array of all the keys present in this map.
+     *
+     * @return a new array containing all the keys present in this map
+     */
+    public int[] keys() {
+        int[] result = new int[size];
+        int i = 0;
+        if (hasFreeKey) {
+            result[i++] = FREE_KEY;
+        }
+        for (int key : keys) {
+            if (key != FREE_KEY) {
+                result[i++] = key;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Performs the given action for each entry in this map, reading the keys and values straight from the table.
+     *
+     * @param action the action to be performed for each entry
+     */
+    public void forEach(IntIntConsumer action) {
+        if (hasFreeKey) {
+            action.accept(FREE_KEY, freeKeyValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE_KEY) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the slot holding the specified non-zero key.
+     *
+     * @param key the key to search for
+     * @return the slot holding the key, or -1 if the key is not present
+     */
+    private int indexOf(int key) {
+        int mask = keys.length - 1;
+        int index = mix(key) & mask;
+        while (keys[index] != FREE_KEY) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Resizes the hash table by doubling its capacity and reinserting all the entries.
+     */
+    private void resize() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE_KEY) {
+                int index = mix(oldKeys[i]) & mask;
+                while (keys[index] != FREE_KEY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Allocates empty key and value arrays of the given power-of-two capacity.
+     *
+     * @param capacity the number of slots to allocate
+     */
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        threshold = Math.min(capacity - 1, (int) (capacity * loadFactor));
+    }
+
+    /**
+     * Scrambles a key by multiplying it with the golden ratio scaled to 32 bits, so that dense vertex ids
+     * spread over the whole table.
+     *
+     * @param key the key to scramble
+     * @return the scrambled key
+     */
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * An action performed on a primitive key-value pair.
+     */
+    @FunctionalInterface
+    public interface IntIntConsumer {
+        /**
+         * Performs this action on the given key and value.
+         *
+         * @param key   the key of the entry
+         * @param value the value of the entry
+         */
+        void accept(int key, int value);
+    }
+}
@@ -1,18 +1,52 @@
 package dataStructure.hashMap;
 
+import dataStructure.hashMap.RedBlackTree.TreeNode;
 import dataStructure.hashMap.hashFunction.HashFunction;
 import dataStructure.hashMap.hashFunction.Modulus;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.BiConsumer;
 
 /**
- * A hash map implementation that uses linked lists to handle collisions.
+ * A hash map implementation that uses linked lists to handle collisions. When the keys implement
+ * {@link Comparable}, a chain that grows past the treeify threshold is converted into a red-black tree,
+ * which bounds the cost of operations on that bucket to O(log n). The tree is turned back into a chain
+ * once it shrinks to three quarters of the threshold. Keys of a treeified bucket are compared with
+ * {@code compareTo}, which is expected to be consistent with {@code equals}.
+ *
+ * <p>The map can be given fallback hash functions. It records the length of the bucket every new key lands in,
+ * and when a resize finds that the average or the longest of those lengths since the previous resize went
+ * over its collision thresholds, it switches to the next fallback and hashes all keys again.</p>
+ *
+ * <p>Every node caches the full hash of its key. Lookups compare the cached hash before calling {@code equals}
+ * or {@code compareTo}, and resizing moves nodes by their cached hash without hashing the keys again. This
+ * only holds for hash functions that have a full hash code (see {@link HashFunction#hasFullHash()}); for any
+ * other function the bucket of a key is computed with {@link HashFunction#hash(Object, int)} on every operation
+ * and resize.</p>
+ *
+ * <p>By default the table is rehashed in one go when the load factor is reached. With incremental resizing
+ * enabled, the old and the new table are kept side by side and a bounded number of buckets is migrated on
+ * each operation, so no single operation pays for the whole rehash.</p>
+ *
+ * <p>In power-of-two mode the capacity is always a power of two and a key's bucket is taken from the low bits
+ * of its full hash code with a bit mask instead of a division. Resizing then splits every chain into the two
+ * buckets it can map to, reusing the existing nodes and keeping their order. A hash function without a full
+ * hash code is given the power-of-two capacity instead, and its chains are relinked one node at a time.</p>
+ *
+ * <p>With node pooling enabled, the map keeps the chain nodes of removed entries on a free list of bounded
+ * length and reuses them for new entries, so that a workload that keeps adding and removing keys allocates
+ * hardly any nodes once the pool is filled. Pooled nodes hold neither keys nor values.</p>
+ *
+ * <p>The map counts its resizes and lookups and can report the occupancy of its buckets through
+ * {@link #getStats()}, also over JMX.</p>
  *
  * @param <K> the type of the keys
  * @param <V> the type of the values
  */
-public class LinkedListHashMap<K, V> implements HashMap<K, V> {
+public class LinkedListHashMap<K, V> implements HashMap<K, V>, HashMapStatsMXBean {
     /**
      * Default capacity of the hash table.
      */
@@ -27,24 +61,78 @@ public class LinkedListHashMap<K, V> implements HashMap<K, V> {
      * Default resizable property of the hash table.
      */
     public static final boolean DEFAULT_RESIZABLE = true;
+
+    /**
+     * Default chain length above which a bucket is converted into a red-black tree.
+     */
+    public static final int DEFAULT_TREEIFY_THRESHOLD = 8;
+
+    /**
+     * Default shrink threshold of the hash table; 0 means the table never shrinks on its own.
+     */
+    public static final float DEFAULT_SHRINK_THRESHOLD = 0f;
+
+    /**
+     * Default average bucket length above which the map switches to its next fallback hash function.
+     */
+    public static final float DEFAULT_AVERAGE_COLLISION_THRESHOLD = 3f;
+
+    /**
+     * Default bucket length above which the map switches to its next fallback hash function.
+     */
+    public static final int DEFAULT_MAX_COLLISION_THRESHOLD = 16;
+
+    /**
+     * Default maximum number of pooled nodes; 0 disables node pooling.
+     */
+    public static final int DEFAULT_NODE_POOL_LIMIT = 0;
     private final float loadFactor;
     private int capacity;
     private int size;
     private final boolean resizable;
 
     private Node<K, V>[] table;
-    private final HashFunction<K> hashFunction;
+    private RedBlackTree<K, V>[] trees;
+    private int treeifyThreshold = DEFAULT_TREEIFY_THRESHOLD;
+    private float shrinkThreshold = DEFAULT_SHRINK_THRESHOLD;
+    private final int minimumCapacity;
+    private HashFunction<K> hashFunction;
+    private final boolean powerOfTwo;
+    private List<HashFunction<K>> fallbacks = List.of();
+    private int nextFallback;
+    private float averageCollisionThreshold = DEFAULT_AVERAGE_COLLISION_THRESHOLD;
+    private int maxCollisionThreshold = DEFAULT_MAX_COLLISION_THRESHOLD;
+    private long observedLength;
+    private int observations;
+    private int longestObserved;
+    private int nodePoolLimit = DEFAULT_NODE_POOL_LIMIT;
+    private Node<K, V> freeNodes;
+    private int freeNodeCount;
+
+    private long resizeCount;
+    private long resizeTimeNanos;
+    private long getCount;
+    private long getProbeCount;
+
+    private Node<K, V>[] oldTable;
+    private RedBlackTree<K, V>[] oldTrees;
+    private int oldCapacity;
+    private int migrationIndex;
+    private int migrationStep;
 
     /**
-     * Constructs a new hash map with the specified initial capacity, resizable property, load factor and hash function.
+     * Constructs a new hash map with the specified initial capacity, resizable property, load factor, hash function
+     * and indexing mode.
      *
-     * @param initialCapacity the initial capacity of the hash table
+     * @param initialCapacity the initial capacity of the hash table, rounded up to a power of two in power-of-two mode
      * @param resizable       whether the hash table is resizable
      * @param loadFactor      the load factor of the hash table
      * @param hashFunction    the hash function used to hash keys
+     * @param powerOfTwo      whether buckets are selected by masking the full hash code of a key
      * @throws IllegalArgumentException if the initial capacity is negative or the load factor is non-positive or NaN
      */
-    public LinkedListHashMap(int initialCapacity, boolean resizable, float loadFactor, HashFunction<K> hashFunction) {
+    public LinkedListHashMap(int initialCapacity, boolean resizable, float loadFactor, HashFunction<K> hashFunction,
+                             boolean powerOfTwo) {
         if (initialCapacity < 0)
             throw new IllegalArgumentException("Illegal initial capacity: " +
                     initialCapacity);
@@ -52,13 +140,28 @@ public class LinkedListHashMap<K, V> implements HashMap<K, V> {
             throw new IllegalArgumentException("Illegal load factor: " +
                     loadFactor);
         this.loadFactor = loadFactor;
-        this.capacity = initialCapacity;
+        this.capacity = powerOfTwo ? tableSizeFor(initialCapacity) : initialCapacity;
         this.resizable = resizable;
         this.hashFunction = hashFunction;
+        this.powerOfTwo = powerOfTwo;
+        this.minimumCapacity = Math.max(1, this.capacity);
         //noinspection unchecked
         this.table = new Node[this.capacity];
     }
 
+    /**
+     * Constructs a new hash map with the specified initial capacity, resizable property, load factor and hash function.
+     *
+     * @param initialCapacity the initial capacity of the hash table
+     * @param resizable       whether the hash table is resizable
+     * @param loadFactor      the load factor of the hash table
+     * @param hashFunction    the hash function used to hash keys
+     * @throws IllegalArgumentException if the initial capacity is negative or the load factor is non-positive or NaN
+     */
+    public LinkedListHashMap(int initialCapacity, boolean resizable, float loadFactor, HashFunction<K> hashFunction) {
+        this(initialCapacity, resizable, loadFactor, hashFunction, false);
+    }
+
     /**
      * Constructs a new hash map with the specified capacity and resizable property.
      *
@@ -117,33 +220,234 @@ public class LinkedListHashMap<K, V> implements HashMap<K, V> {
     }
 
     /**
-     * Associates the specified value with the specified key in this map.
-     * If the map previously contained a mapping for the key, the value is added to end of the linked list.
+     * Sets the chain length above which a bucket is converted into a red-black tree. Buckets are only
+     * treeified when all of their keys are {@link Comparable} instances of the same class. A threshold of 0
+     * disables treeification; buckets that are already trees are converted back on their next removal.
      *
-     * @param key   the key with which the specified value is to be associated
-     * @param value the value to be associated with the specified key
+     * @param treeifyThreshold the maximum chain length, or 0 to keep every bucket a linked list
+     * @throws IllegalArgumentException if the threshold is negative
      */
-    public void put(K key, V value) {
-        int index = hash(key);
+    public void setTreeifyThreshold(int treeifyThreshold) {
+        if (treeifyThreshold < 0)
+            throw new IllegalArgumentException("Illegal treeify threshold: " +
+                    treeifyThreshold);
+        this.treeifyThreshold = treeifyThreshold;
+    }
 
-        Node<K, V> node = new Node<>(key, value);
+    /**
+     * Returns the chain length above which a bucket is converted into a red-black tree.
+     *
+     * @return the treeify threshold, or 0 if treeification is disabled
+     */
+    public int getTreeifyThreshold() {
+        return treeifyThreshold;
+    }
 
-        if (table[index] == null) {
-            table[index] = node;
-            size++;
+    /**
+     * Sets how many buckets of the old table are migrated on each operation while a resize is in progress.
+     * A value of 0 rehashes the whole table inside the operation that triggers the resize, which is the
+     * default; switching to it completes any migration that is still in progress.
+     *
+     * @param bucketsPerOperation the number of buckets to migrate per operation, or 0 to resize eagerly
+     * @throws IllegalArgumentException if the number of buckets is negative
+     */
+    public void setIncrementalResize(int bucketsPerOperation) {
+        if (bucketsPerOperation < 0)
+            throw new IllegalArgumentException("Illegal number of buckets per operation: " +
+                    bucketsPerOperation);
+        this.migrationStep = bucketsPerOperation;
+        if (bucketsPerOperation == 0) {
+            migrate(oldCapacity);
+        }
+    }
+
+    /**
+     * Returns how many buckets of the old table are migrated on each operation while a resize is in progress.
+     *
+     * @return the number of buckets migrated per operation, or 0 if the table is resized eagerly
+     */
+    public int getIncrementalResize() {
+        return migrationStep;
+    }
+
+    /**
+     * Sets the load below which a removal halves the capacity of the table, never going below the initial
+     * capacity. The threshold must be lower than half of the load factor, so that a table that has just been
+     * halved is not doubled again by the next insertion, nor a table that has just been doubled halved by the
+     * next removal. A threshold of 0 disables shrinking, which is the default. Shrinking is always done eagerly,
+     * even when incremental resizing is enabled.
+     *
+     * @param shrinkThreshold the minimum ratio of entries to buckets, or 0 to never shrink
+     * @throws IllegalArgumentException if the threshold is negative, NaN, or not below half of the load factor
+     */
+    public void setShrinkThreshold(float shrinkThreshold) {
+        if (shrinkThreshold < 0 || shrinkThreshold >= loadFactor / 2 || Float.isNaN(shrinkThreshold))
+            throw new IllegalArgumentException("Illegal shrink threshold: " +
+                    shrinkThreshold);
+        this.shrinkThreshold = shrinkThreshold;
+    }
+
+    /**
+     * Returns the load below which a removal halves the capacity of the table.
+     *
+     * @return the shrink threshold, or 0 if shrinking is disabled
+     */
+    public float getShrinkThreshold() {
+        return shrinkThreshold;
+    }
+
+    /**
+     * Sets the maximum number of chain nodes the map keeps for reuse after their entries are removed. Removing an
+     * entry puts its node on the free list unless the list is full, and adding an entry takes a node from the
+     * list before allocating one. Lowering the limit releases the nodes above it. A limit of 0 disables node
+     * pooling, which is the default.
+     *
+     * @param nodePoolLimit the maximum number of pooled nodes, or 0 to pool none
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    public void setNodePoolLimit(int nodePoolLimit) {
+        if (nodePoolLimit < 0)
+            throw new IllegalArgumentException("Illegal node pool limit: " +
+                    nodePoolLimit);
+        this.nodePoolLimit = nodePoolLimit;
+        while (freeNodeCount > nodePoolLimit) {
+            freeNodes = freeNodes.next;
+            freeNodeCount--;
+        }
+    }
+
+    /**
+     * Returns the maximum number of chain nodes the map keeps for reuse.
+     *
+     * @return the node pool limit, or 0 if node pooling is disabled
+     */
+    public int getNodePoolLimit() {
+        return nodePoolLimit;
+    }
+
+    /**
+     * Returns the number of chain nodes currently kept for reuse.
+     *
+     * @return the number of pooled nodes
+     */
+    public int getPooledNodeCount() {
+        return freeNodeCount;
+    }
+
+    /**
+     * Sets the hash functions the map switches to, in order, when its buckets get too long. The switch happens
+     * at the next resize after an insertion landed in a bucket longer than the maximum collision threshold, or
+     * after the average bucket length seen by insertions went over the average collision threshold. Every
+     * switch hashes all keys again. A table that is not resizable only switches when it is rebuilt through
+     * {@link #trimToSize()}. An empty list, the default, keeps the hash function the map was created with.
+     *
+     * @param fallbacks the hash functions to switch to, in order
+     */
+    public void setHashFunctionFallbacks(List<? extends HashFunction<K>> fallbacks) {
+        this.fallbacks = List.copyOf(fallbacks);
+        this.nextFallback = 0;
+    }
+
+    /**
+     * Returns the hash functions the map switches to when its buckets get too long.
+     *
+     * @return the fallback hash functions, in order
+     */
+    public List<HashFunction<K>> getHashFunctionFallbacks() {
+        return fallbacks;
+    }
+
+    /**
+     * Returns the hash function the map currently uses, which is the one it was created with until the map
+     * switches to a fallback.
+     *
+     * @return the current hash function
+     */
+    public HashFunction<K> getHashFunction() {
+        return hashFunction;
+    }
+
+    /**
+     * Sets the bucket lengths above which the map switches to its next fallback hash function at the next resize.
+     *
+     * @param averageLength the average length of the buckets new keys land in
+     * @param maxLength     the length of the longest bucket a new key lands in
+     * @throws IllegalArgumentException if the average length is less than 1 or NaN, or the maximum length is
+     *                                  less than 1
+     */
+    public void setCollisionThresholds(float averageLength, int maxLength) {
+        if (!(averageLength >= 1))
+            throw new IllegalArgumentException("Illegal average collision threshold: " +
+                    averageLength);
+        if (maxLength < 1)
+            throw new IllegalArgumentException("Illegal maximum collision threshold: " +
+                    maxLength);
+        this.averageCollisionThreshold = averageLength;
+        this.maxCollisionThreshold = maxLength;
+    }
+
+    /**
+     * Returns the average bucket length above which the map switches to its next fallback hash function.
+     *
+     * @return the average collision threshold
+     */
+    public float getAverageCollisionThreshold() {
+        return averageCollisionThreshold;
+    }
+
+    /**
+     * Returns the bucket length above which the map switches to its next fallback hash function.
+     *
+     * @return the maximum collision threshold
+     */
+    public int getMaxCollisionThreshold() {
+        return maxCollisionThreshold;
+    }
+
+    /**
+     * Shrinks the table to the smallest capacity that keeps the current entries below the load factor,
+     * completing any resize in progress, and releases the pooled nodes. Unlike the shrink threshold, this may go
+     * below the initial capacity.
+     */
+    public void trimToSize() {
+        freeNodes = null;
+        freeNodeCount = 0;
+        int target = capacityFor(size);
+        if (target < capacity) {
+            rehash(target);
         } else {
-            Node<K, V> temp = table[index];
-            while (temp.next != null) {
-                if (temp.key.equals(key)) {
-                    temp.value = value;
-                    return;
-                }
-                temp = temp.next;
+            migrate(oldCapacity);
+        }
+    }
+
+    /**
+     * Grows the table in one go so that it can hold the given number of entries below the load factor. A table
+     * that is not resizable keeps its capacity.
+     *
+     * @param expectedSize the number of entries the map should be able to hold
+     */
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        if (resizable) {
+            int target = capacityFor(expectedSize);
+            if (target > capacity) {
+                rehash(target);
             }
-            if (temp.key.equals(key)) {
-                temp.value = value;
-            } else {
-                temp.next = node;
+        }
+    }
+
+    /**
+     * Copies all of the given entries into this map. The table is grown once for all of them up front, and the
+     * load factor is only checked again after the last entry has been stored.
+     *
+     * @param entries the entries to be stored in this map
+     */
+    @Override
+    public void putAll(Collection<? extends Entry<? extends K, ? extends V>> entries) {
+        ensureCapacity(size + entries.size());
+        migrate(oldCapacity);
+        for (Entry<? extends K, ? extends V> entry : entries) {
+            if (insert(hash(entry.getKey()), entry.getKey(), entry.getValue())) {
                 size++;
             }
         }
@@ -152,6 +456,41 @@ public class LinkedListHashMap<K, V> implements HashMap<K, V> {
         }
     }
 
+    /**
+     * Removes the mappings for all of the given keys from this map. The shrink threshold is only checked after the
+     * last key has been removed, and the table then shrinks in one go instead of halving once per removal.
+     *
+     * @param keys the keys whose mappings are to be removed from the map
+     */
+    @Override
+    public void removeAll(Collection<? extends K> keys) {
+        for (K key : keys) {
+            delete(key);
+        }
+        shrinkIfNeeded();
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * If the map previously contained a mapping for the key, the value is added to end of the linked list.
+     *
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     */
+    public void put(K key, V value) {
+        int hash = hash(key);
+        migrateStep();
+        if (oldTable != null) {
+            migrateBucket(indexFor(hash, key, oldCapacity));
+        }
+        if (insert(hash, key, value)) {
+            size++;
+        }
+        if (resizable && (float) size / capacity >= loadFactor) {
+            resize();
+        }
+    }
+
     /**
      * Returns the value associated with the specified key in this hash table. If the node's next is not null, it will
      * traverse to the find the element in the linked list.
@@ -160,41 +499,93 @@ public class LinkedListHashMap<K, V> implements HashMap<K, V> {
      * @return the value associated with the specified key, or {@code null} if this map contains no mapping for the key
      */
     public V get(K key) {
-        int index = hash(key);
+        migrateStep();
+        int hash = hash(key);
+        getCount++;
+        V value = find(table, trees, indexFor(hash, key, capacity), hash, key);
+        if (value == null && oldTable != null) {
+            value = find(oldTable, oldTrees, indexFor(hash, key, oldCapacity), hash, key);
+        }
+        return value;
+    }
 
-        if (table[index] != null) {
-            Node<K, V> temp = table[index];
-            while (temp != null) {
-                if (temp.key.equals(key)) {
-                    return temp.value;
-                }
-                temp = temp.next;
+    /**
+     * Searches the given bucket of a table for the specified key. The cached hash of each node is compared
+     * before {@code equals} is called.
+     *
+     * @param table the chains of the table
+     * @param trees the treeified buckets of the table, or null if there are none
+     * @param index the bucket to search
+     * @param hash  the hash of the key
+     * @param key   the key to search for
+     * @return the value associated with the key, or null if the bucket holds no mapping for the key
+     */
+    private V find(Node<K, V>[] table, RedBlackTree<K, V>[] trees, int index, int hash, K key) {
+        if (trees != null && trees[index] != null) {
+            TreeNode<K, V> node = findInTree(trees[index], hash, key);
+            getProbeCount += trees[index].searchLength();
+            return node != null ? node.value : null;
+        }
+        Node<K, V> temp = table[index];
+        while (temp != null) {
+            getProbeCount++;
+            if (temp.hash == hash && temp.key.equals(key)) {
+                return temp.value;
             }
+            temp = temp.next;
         }
         return null;
     }
 
     /**
-     * Removes the mapping for a key from this hash table if it is present.
+     * Removes the mapping for a key from this hash table if it is present. If the load drops below the shrink
+     * threshold, the capacity of the table is halved.
      *
      * @param key the key whose mapping is to be removed from the map
      */
     public void remove(K key) {
-        int index = hash(key);
+        delete(key);
+        shrinkIfNeeded();
+    }
+
+    /**
+     * Removes the mapping for a key from this hash table without checking the shrink threshold.
+     *
+     * @param key the key whose mapping is to be removed from the map
+     */
+    private void delete(K key) {
+        int hash = hash(key);
+        migrateStep();
+        if (oldTable != null) {
+            migrateBucket(indexFor(hash, key, oldCapacity));
+        }
+        int index = indexFor(hash, key, capacity);
 
-        if (table[index] != null) {
+        if (trees != null && trees[index] != null) {
+            RedBlackTree<K, V> tree = trees[index];
+            TreeNode<K, V> node = findInTree(tree, hash, key);
+            if (node != null) {
+                tree.delete(node);
+                size--;
+            }
+            if (treeifyThreshold == 0 || tree.size() <= treeifyThreshold * 3 / 4) {
+                untreeify(index);
+            }
+        } else if (table[index] != null) {
             Node<K, V> temp = table[index];
-            if (temp.key.equals(key)) {
+            if (temp.hash == hash && temp.key.equals(key)) {
                 table[index] = temp.next;
                 size--;
+                recycle(temp);
             } else {
                 Node<K, V> prev = temp;
                 temp = temp.next;
                 while (temp != null) {
-                    if (temp.key.equals(key)) {
+                    if (temp.hash == hash && temp.key.equals(key)) {
                         prev.next = temp.next;
                         size--;
-                        return;
+                        recycle(temp);
+                        break;
                     }
                     prev = temp;
                     temp = temp.next;
@@ -204,34 +595,489 @@ public class LinkedListHashMap<K, V> implements HashMap<K, V> {
     }
 
     /**
-     * Resizes the hash table by creating a new array with double the capacity and
-     * rehashing all the elements from the old array into the new one.
+     * Halves the capacity of the table until the load reaches the shrink threshold again, without going below the
+     * initial capacity, and rebuilds the table once at the final capacity.
+     */
+    private void shrinkIfNeeded() {
+        if (!resizable || shrinkThreshold == 0) {
+            return;
+        }
+        int target = capacity;
+        while (target > minimumCapacity && (float) size / target < shrinkThreshold) {
+            target = Math.max(minimumCapacity, target / 2);
+        }
+        if (target < capacity) {
+            rehash(target);
+        }
+    }
+
+    /**
+     * Returns the smallest capacity that holds the given number of entries below the load factor, rounded up to
+     * a power of two if the table uses power-of-two capacities.
      *
-     * @throws IllegalStateException if the hash table is not resizable
+     * @param entries the number of entries to hold
+     * @return the capacity for the given number of entries
+     */
+    private int capacityFor(int entries) {
+        int target = Math.max(1, (int) (entries / loadFactor) + 1);
+        return powerOfTwo ? tableSizeFor(target) : target;
+    }
+
+    /**
+     * Stores the mapping in its bucket of the current table without checking the load factor or updating the
+     * size. A chain that grows past the treeify threshold is converted into a tree, and a tree that receives
+     * a key it cannot order is converted back into a chain.
+     *
+     * @param hash  the hash of the key
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return true if a new mapping was added, false if an existing value was replaced
+     */
+    private boolean insert(int hash, K key, V value) {
+        int index = indexFor(hash, key, capacity);
+
+        if (trees != null && trees[index] != null) {
+            RedBlackTree<K, V> tree = trees[index];
+            if (canTreeify(key, tree.first().key)) {
+                if (tree.put(hash, key, value)) {
+                    observe(tree.size());
+                    return true;
+                }
+                return false;
+            }
+            untreeify(index);
+        }
+
+        if (table[index] == null) {
+            table[index] = newNode(key, hash, value);
+            observe(1);
+            return true;
+        }
+        Node<K, V> temp = table[index];
+        int length = 1;
+        while (temp.next != null) {
+            if (temp.hash == hash && temp.key.equals(key)) {
+                temp.value = value;
+                return false;
+            }
+            temp = temp.next;
+            length++;
+        }
+        if (temp.hash == hash && temp.key.equals(key)) {
+            temp.value = value;
+            return false;
+        }
+        temp.next = newNode(key, hash, value);
+        observe(length + 1);
+        if (treeifyThreshold > 0 && length + 1 > treeifyThreshold) {
+            treeify(index);
+        }
+        return true;
+    }
+
+    /**
+     * Returns a chain node for a new entry, taken from the node pool if it has one.
+     *
+     * @param key   the key of the entry
+     * @param hash  the hash of the key
+     * @param value the value of the entry
+     * @return a node holding the entry, not linked to any other node
+     */
+    private Node<K, V> newNode(K key, int hash, V value) {
+        Node<K, V> node = freeNodes;
+        if (node == null) {
+            return new Node<>(key, hash, value);
+        }
+        freeNodes = node.next;
+        freeNodeCount--;
+        node.key = key;
+        node.hash = hash;
+        node.value = value;
+        node.next = null;
+        return node;
+    }
+
+    /**
+     * Puts a chain node that is no longer linked into the table on the node pool, unless the pool is full. The
+     * node is cleared first, so that the pool does not keep keys or values reachable.
+     *
+     * @param node the node to recycle
+     */
+    private void recycle(Node<K, V> node) {
+        if (freeNodeCount < nodePoolLimit) {
+            node.key = null;
+            node.value = null;
+            node.next = freeNodes;
+            freeNodes = node;
+            freeNodeCount++;
+        }
+    }
+
+    /**
+     * Records the length of the bucket a new key has just been added to.
+     *
+     * @param length the number of keys in the bucket, including the new one
+     */
+    private void observe(int length) {
+        observedLength += length;
+        observations++;
+        if (length > longestObserved) {
+            longestObserved = length;
+        }
+    }
+
+    /**
+     * Switches to the next fallback hash function if the buckets new keys landed in since the previous rebuild
+     * went over the collision thresholds, and starts recording afresh either way.
+     *
+     * @return true if the hash function was switched, in which case every key must be hashed again
+     */
+    private boolean tuneHashFunction() {
+        boolean collided = longestObserved > maxCollisionThreshold
+                || (observations > 0 && (float) observedLength / observations > averageCollisionThreshold);
+        observedLength = 0;
+        observations = 0;
+        longestObserved = 0;
+        if (collided && nextFallback < fallbacks.size()) {
+            hashFunction = fallbacks.get(nextFallback++);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Converts the chain of the given bucket into a red-black tree, provided all of its keys are
+     * {@link Comparable} instances of the same class.
+     *
+     * @param index the bucket to convert
+     */
+    private void treeify(int index) {
+        K first = table[index].key;
+        for (Node<K, V> node = table[index]; node != null; node = node.next) {
+            if (!canTreeify(node.key, first)) {
+                return;
+            }
+        }
+        RedBlackTree<K, V> tree = new RedBlackTree<>();
+        for (Node<K, V> node = table[index]; node != null; ) {
+            Node<K, V> next = node.next;
+            tree.put(node.hash, node.key, node.value);
+            recycle(node);
+            node = next;
+        }
+        if (trees == null) {
+            //noinspection unchecked
+            trees = new RedBlackTree[capacity];
+        }
+        trees[index] = tree;
+        table[index] = null;
+    }
+
+    /**
+     * Converts the red-black tree of the given bucket back into a chain, keeping the nodes in tree order.
+     *
+     * @param index the bucket to convert
+     */
+    private void untreeify(int index) {
+        Node<K, V> head = null;
+        Node<K, V> tail = null;
+        for (TreeNode<K, V> node = trees[index].first(); node != null; node = RedBlackTree.successor(node)) {
+            Node<K, V> entry = newNode(node.key, node.hash, node.value);
+            if (head == null) {
+                head = entry;
+            } else {
+                tail.next = entry;
+            }
+            tail = entry;
+        }
+        table[index] = head;
+        trees[index] = null;
+    }
+
+    /**
+     * Returns whether the key can be stored in a tree whose keys are ordered together with the given key.
+     *
+     * @param key   the key to check
+     * @param other a key already in the bucket
+     * @return true if both keys are {@link Comparable} instances of the same class
+     */
+    private static boolean canTreeify(Object key, Object other) {
+        return key instanceof Comparable && key.getClass() == other.getClass();
+    }
+
+    /**
+     * Searches a treeified bucket for the given key. A key of a different class than the keys in the tree
+     * cannot be ordered against them, so the tree is scanned with {@code equals} instead.
+     *
+     * @param tree the tree to search
+     * @param hash the hash of the key
+     * @param key  the key to search for
+     * @return the node holding the key, or null if it is not in the tree
+     */
+    private static <K, V> TreeNode<K, V> findInTree(RedBlackTree<K, V> tree, int hash, K key) {
+        TreeNode<K, V> first = tree.first();
+        if (first == null) {
+            return null;
+        }
+        if (canTreeify(key, first.key)) {
+            return tree.find(hash, key);
+        }
+        for (TreeNode<K, V> node = first; node != null; node = RedBlackTree.successor(node)) {
+            if (node.hash == hash && node.key.equals(key)) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resizes the hash table by creating a new array with double the capacity and
+     * rehashing all the elements from the old array into the new one. With incremental resizing
+     * enabled, the old array is kept and its buckets are migrated by subsequent operations instead,
+     * unless the map switches to a fallback hash function, which always rebuilds the table in one go.
      */
     private void resize() {
-        int newCapacity = capacity * 2;
-        @SuppressWarnings("unchecked")
-        Node<K, V>[] newTable = new Node[newCapacity];
-        for (int i = 0; i < capacity; i++) {
-            Node<K, V> curr = table[i];
+        long start = System.nanoTime();
+        migrate(oldCapacity);
+        if (tuneHashFunction()) {
+            rebuild(capacity * 2, true);
+        } else {
+            oldTable = table;
+            oldTrees = trees;
+            oldCapacity = capacity;
+            migrationIndex = 0;
+            capacity = capacity * 2;
+            //noinspection unchecked
+            table = new Node[capacity];
+            trees = null;
+            if (migrationStep == 0) {
+                migrate(oldCapacity);
+            }
+        }
+        resizeCount++;
+        resizeTimeNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Rebuilds the table with the given capacity in one go, switching to a fallback hash function if the buckets
+     * have been too long. Any resize in progress is completed first.
+     *
+     * @param newCapacity the capacity of the rebuilt table
+     */
+    private void rehash(int newCapacity) {
+        long start = System.nanoTime();
+        migrate(oldCapacity);
+        rebuild(newCapacity, tuneHashFunction());
+        resizeCount++;
+        resizeTimeNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Rebuilds the table with the given capacity in one go, relinking the existing chain nodes into their new
+     * buckets. No resize may be in progress.
+     *
+     * @param newCapacity the capacity of the rebuilt table
+     * @param rehashKeys  whether the cached hashes are stale because the hash function has changed
+     */
+    private void rebuild(int newCapacity, boolean rehashKeys) {
+        Node<K, V>[] previousTable = table;
+        RedBlackTree<K, V>[] previousTrees = trees;
+        int previousCapacity = capacity;
+        capacity = newCapacity;
+        //noinspection unchecked
+        table = new Node[capacity];
+        trees = null;
+        for (int i = 0; i < previousCapacity; i++) {
+            Node<K, V> curr = previousTable[i];
             while (curr != null) {
-                int index = this.hashFunction.hash(curr.key, newCapacity);
-                Node<K, V> entry = new Node<>(curr.key, curr.value);
-                if (newTable[index] == null) {
-                    newTable[index] = entry;
+                Node<K, V> next = curr.next;
+                if (rehashKeys) {
+                    curr.hash = hash(curr.key);
+                }
+                relink(curr);
+                curr = next;
+            }
+            if (previousTrees != null && previousTrees[i] != null) {
+                for (TreeNode<K, V> node = previousTrees[i].first(); node != null; node = RedBlackTree.successor(node)) {
+                    insert(rehashKeys ? hash(node.key) : node.hash, node.key, node.value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Migrates the next buckets of a resize in progress, as every operation does, and adds the time taken to
+     * the resize time.
+     */
+    private void migrateStep() {
+        if (oldTable != null) {
+            long start = System.nanoTime();
+            migrate(migrationStep);
+            resizeTimeNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Migrates up to the given number of buckets from the old table into the current one, in index order.
+     * The old table is dropped once all of its buckets have been migrated.
+     *
+     * @param buckets the maximum number of buckets to migrate
+     */
+    private void migrate(int buckets) {
+        while (oldTable != null && buckets-- > 0) {
+            migrateBucket(migrationIndex++);
+            if (migrationIndex >= oldCapacity) {
+                oldTable = null;
+                oldTrees = null;
+            }
+        }
+    }
+
+    /**
+     * Moves all entries of the given bucket of the old table into the current table.
+     *
+     * @param index the bucket of the old table to migrate
+     */
+    private void migrateBucket(int index) {
+        Node<K, V> curr = oldTable[index];
+        oldTable[index] = null;
+        if (powerOfTwo && hashFunction.hasFullHash()) {
+            if (curr != null) {
+                split(curr, index);
+            }
+        } else {
+            while (curr != null) {
+                Node<K, V> next = curr.next;
+                relink(curr);
+                curr = next;
+            }
+        }
+        if (oldTrees != null && oldTrees[index] != null) {
+            for (TreeNode<K, V> node = oldTrees[index].first(); node != null; node = RedBlackTree.successor(node)) {
+                insert(node.hash, node.key, node.value);
+            }
+            oldTrees[index] = null;
+        }
+    }
+
+    /**
+     * Splits a chain of the old table between the two buckets of the doubled table it can map to: the bucket
+     * with the same index and the one {@code oldCapacity} further. The existing nodes are relinked in their
+     * original order. Both target buckets are still empty, since keys are only ever added to the current
+     * table after their bucket of the old table has been migrated.
+     *
+     * @param head  the first node of the chain
+     * @param index the index of the chain in the old table
+     */
+    private void split(Node<K, V> head, int index) {
+        Node<K, V> loHead = null, loTail = null;
+        Node<K, V> hiHead = null, hiTail = null;
+        for (Node<K, V> node = head; node != null; node = node.next) {
+            if ((spread(node.hash) & oldCapacity) == 0) {
+                if (loTail == null) {
+                    loHead = node;
                 } else {
-                    Node<K, V> tail = newTable[index];
-                    while (tail.next != null) {
-                        tail = tail.next;
+                    loTail.next = node;
+                }
+                loTail = node;
+            } else {
+                if (hiTail == null) {
+                    hiHead = node;
+                } else {
+                    hiTail.next = node;
+                }
+                hiTail = node;
+            }
+        }
+        if (loTail != null) {
+            loTail.next = null;
+        }
+        if (hiTail != null) {
+            hiTail.next = null;
+        }
+        table[index] = loHead;
+        table[index + oldCapacity] = hiHead;
+    }
+
+    /**
+     * Appends an existing node to its bucket of the current table, without allocating a new node for it.
+     *
+     * @param node the node to move
+     */
+    private void relink(Node<K, V> node) {
+        node.next = null;
+        int index = indexFor(node.hash, node.key, capacity);
+        if (trees != null && trees[index] != null) {
+            insert(node.hash, node.key, node.value);
+        } else if (table[index] == null) {
+            table[index] = node;
+        } else {
+            Node<K, V> tail = table[index];
+            int length = 1;
+            while (tail.next != null) {
+                tail = tail.next;
+                length++;
+            }
+            tail.next = node;
+            if (treeifyThreshold > 0 && length + 1 > treeifyThreshold) {
+                treeify(index);
+            }
+        }
+    }
+
+    /**
+     * Returns a snapshot of the size, bucket occupancy, resize and lookup counters of this map. The depth of a
+     * chain is its length, and the depth of a treeified bucket is the height of its tree.
+     *
+     * @return the current statistics
+     */
+    @Override
+    public HashMapStats getStats() {
+        int[] histogram = new int[1];
+        int maxDepth = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            Node<K, V>[] buckets = pass == 0 ? table : oldTable;
+            RedBlackTree<K, V>[] bucketTrees = pass == 0 ? trees : oldTrees;
+            if (buckets == null) {
+                continue;
+            }
+            // Buckets of the old table before the migration index have already been moved, and so have the empty
+            // ones after it that operations migrated out of order.
+            for (int i = pass == 0 ? 0 : migrationIndex; i < buckets.length; i++) {
+                int entries = 0;
+                int depth;
+                if (bucketTrees != null && bucketTrees[i] != null) {
+                    entries = bucketTrees[i].size();
+                    depth = bucketTrees[i].height();
+                } else {
+                    for (Node<K, V> node = buckets[i]; node != null; node = node.next) {
+                        entries++;
                     }
-                    tail.next = entry;
+                    depth = entries;
+                }
+                if (pass == 1 && entries == 0) {
+                    continue;
                 }
-                curr = curr.next;
+                if (entries >= histogram.length) {
+                    histogram = Arrays.copyOf(histogram, entries + 1);
+                }
+                histogram[entries]++;
+                maxDepth = Math.max(maxDepth, depth);
             }
         }
-        table = newTable;
-        capacity = newCapacity;
+        return new HashMapStats(size, capacity, histogram, maxDepth, resizeCount, resizeTimeNanos, getCount,
+                getProbeCount);
+    }
+
+    /**
+     * Resets the resize and lookup counters of this map to zero.
+     */
+    @Override
+    public void resetStats() {
+        resizeCount = 0;
+        resizeTimeNanos = 0;
+        getCount = 0;
+        getProbeCount = 0;
     }
 
     /**
@@ -240,14 +1086,8 @@ public class LinkedListHashMap<K, V> implements HashMap<K, V> {
      * @return a List of type K containing all the keys present in the hash table.
      */
     public List<K> keys() {
-        List<K> keys = new ArrayList<>();
-        for (int i = 0; i < capacity; i++) {
-            Node<K, V> node = table[i];
-            while (node != null) {
-                keys.add(node.key);
-                node = node.next;
-            }
-        }
+        List<K> keys = new ArrayList<>(size);
+        forEach((key, value) -> keys.add(key));
         return keys;
     }
 
@@ -257,14 +1097,8 @@ public class LinkedListHashMap<K, V> implements HashMap<K, V> {
      * @return a List of type V containing all the values present in the hash table.
      */
     public List<V> values() {
-        List<V> values = new ArrayList<>();
-        for (int i = 0; i < capacity; i++) {
-            Node<K, V> node = table[i];
-            while (node != null) {
-                values.add(node.value);
-                node = node.next;
-            }
-        }
+        List<V> values = new ArrayList<>(size);
+        forEach((key, value) -> values.add(value));
         return values;
     }
 
@@ -275,25 +1109,189 @@ public class LinkedListHashMap<K, V> implements HashMap<K, V> {
      * in the hash table.
      */
     public List<Entry<K, V>> entries() {
-        List<Entry<K, V>> entries = new ArrayList<>();
+        List<Entry<K, V>> entries = new ArrayList<>(size);
+        forEach((key, value) -> entries.add(new Entry<>(key, value)));
+        return entries;
+    }
+
+    /**
+     * Performs the given action for each entry of the current table and of the buckets of the old table
+     * that have not been migrated yet, walking the chains and trees in place.
+     *
+     * @param action the action to be performed for each entry
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        forEachEntry(table, trees, capacity, action);
+        if (oldTable != null) {
+            forEachEntry(oldTable, oldTrees, oldCapacity, action);
+        }
+    }
+
+    /**
+     * Returns a cursor that walks the chains and trees of the current table and then the buckets of the old
+     * table that have not been migrated yet. While an incremental resize is in progress, lookups move buckets
+     * too, so the map must not be read through get or containsKey during the walk either.
+     *
+     * @return a cursor positioned before the first entry of this map
+     */
+    @Override
+    public Cursor<K, V> cursor() {
+        return new BucketCursor();
+    }
+
+    /**
+     * Performs the given action for each entry of a table.
+     *
+     * @param table    the chains of the table
+     * @param trees    the treeified buckets of the table, or null if there are none
+     * @param capacity the number of buckets in the table
+     * @param action   the action to be performed for each entry
+     */
+    private static <K, V> void forEachEntry(Node<K, V>[] table, RedBlackTree<K, V>[] trees, int capacity,
+                                            BiConsumer<? super K, ? super V> action) {
         for (int i = 0; i < capacity; i++) {
-            Node<K, V> node = table[i];
-            while (node != null) {
-                Entry<K, V> entry = new Entry<>(node.key, node.value);
-                entries.add(entry);
-                node = node.next;
+            for (Node<K, V> node = table[i]; node != null; node = node.next) {
+                action.accept(node.key, node.value);
+            }
+            if (trees != null && trees[i] != null) {
+                for (TreeNode<K, V> node = trees[i].first(); node != null; node = RedBlackTree.successor(node)) {
+                    action.accept(node.key, node.value);
+                }
             }
         }
-        return entries;
     }
 
     /**
-     * This method calculates the hash value for a given key using the hash function.
+     * This method calculates the full hash value for a given key using the hash function. It is computed once
+     * per operation and cached in the node that stores the key, so that resizing does not hash the key again
+     * unless the map switches hash function.
      *
      * @param key the key for which the hash value needs to be calculated
      * @return an integer value representing the hash code for the given key.
      */
     private int hash(K key) {
-        return this.hashFunction.hash(key, capacity);
+        return this.hashFunction.hash(key);
+    }
+
+    /**
+     * Returns the bucket of a key in a table of the given capacity. The bucket is found from the cached hash if the
+     * hash function has a full hash code, and by hashing the key for the capacity otherwise.
+     *
+     * @param hash     the full hash of the key to locate
+     * @param key      the key to locate
+     * @param capacity the capacity of the table
+     * @return the index of the bucket holding the key
+     */
+    private int indexFor(int hash, K key, int capacity) {
+        if (!this.hashFunction.hasFullHash()) {
+            return this.hashFunction.hash(key, capacity);
+        }
+        if (powerOfTwo) {
+            return spread(hash) & (capacity - 1);
+        }
+        return this.hashFunction.indexFor(hash, capacity);
+    }
+
+    /**
+     * Folds the high bits of a hash code into the low bits, which are the only ones a bit mask looks at.
+     *
+     * @param h the full hash code
+     * @return the spread hash code
+     */
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the smallest power of two that is greater than or equal to the given capacity.
+     *
+     * @param capacity the requested capacity
+     * @return a power-of-two capacity of at least 1
+     */
+    private static int tableSizeFor(int capacity) {
+        return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * A cursor that walks the buckets of the map in place. The tables are read when the cursor is reset, so
+     * a reset also picks up a resize that happened in between.
+     */
+    private class BucketCursor implements Cursor<K, V> {
+        private Node<K, V>[] buckets;
+        private RedBlackTree<K, V>[] bucketTrees;
+        private int bucketCount;
+        private int bucket;
+        private boolean walkingOldTable;
+        private Node<K, V> node;
+        private TreeNode<K, V> treeNode;
+        private K key;
+        private V value;
+
+        /**
+         * Constructs a new cursor positioned before the first entry.
+         */
+        BucketCursor() {
+            reset();
+        }
+
+        @Override
+        public boolean next() {
+            while (true) {
+                if (node != null) {
+                    key = node.key;
+                    value = node.value;
+                    node = node.next;
+                    return true;
+                }
+                if (treeNode != null) {
+                    key = treeNode.key;
+                    value = treeNode.value;
+                    treeNode = RedBlackTree.successor(treeNode);
+                    return true;
+                }
+                if (bucket + 1 >= bucketCount) {
+                    if (walkingOldTable || oldTable == null) {
+                        key = null;
+                        value = null;
+                        return false;
+                    }
+                    walkingOldTable = true;
+                    buckets = oldTable;
+                    bucketTrees = oldTrees;
+                    bucketCount = oldCapacity;
+                    bucket = -1;
+                    continue;
+                }
+                bucket++;
+                node = buckets[bucket];
+                if (bucketTrees != null && bucketTrees[bucket] != null) {
+                    treeNode = bucketTrees[bucket].first();
+                }
+            }
+        }
+
+        @Override
+        public K key() {
+            return key;
+        }
+
+        @Override
+        public V value() {
+            return value;
+        }
+
+        @Override
+        public void reset() {
+            buckets = table;
+            bucketTrees = trees;
+            bucketCount = capacity;
+            bucket = -1;
+            walkingOldTable = false;
+            node = null;
+            treeNode = null;
+            key = null;
+            value = null;
+        }
     }
-}
\ No newline at end of file
+}
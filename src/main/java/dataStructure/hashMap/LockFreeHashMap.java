@@ -0,0 +1,465 @@
+package dataStructure.hashMap;
+
+import dataStructure.hashMap.hashFunction.HashFunction;
+import dataStructure.hashMap.hashFunction.Modulus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+
+/**
+ * A thread-safe hash map implementation that never blocks. Bucket heads live in an {@link AtomicReferenceArray}
+ * and point to immutable chains; an update builds a new chain, sharing the part behind the changed entry, and
+ * installs it with a compare-and-set, retrying if another thread changed the bucket in the meantime.
+ *
+ * <p>When the load factor is exceeded the table is doubled cooperatively. The buckets of the old table are
+ * handed out in strides, and every thread that updates the map while a resize is in progress claims strides
+ * and moves them before doing its own update. A moved bucket is replaced by a forwarding node that sends
+ * readers and writers on to the new table, so nobody waits for the resize to finish.</p>
+ *
+ * <p>{@link #size()}, {@link #keys()}, {@link #values()} and {@link #entries()} reflect concurrent updates
+ * only partially.</p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class LockFreeHashMap<K, V> implements HashMap<K, V> {
+    /**
+     * Default capacity of the hash table.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Default load factor of the hash table.
+     */
+    public static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * Number of buckets a thread claims at a time while helping with a resize.
+     */
+    private static final int TRANSFER_STRIDE = 16;
+    private final float loadFactor;
+    private final HashFunction<K> hashFunction;
+    private final AtomicReference<AtomicReferenceArray<Node<K, V>>> table;
+    private final AtomicReference<Resize<K, V>> resize = new AtomicReference<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Constructs a new hash map with the specified initial capacity, load factor and hash function.
+     *
+     * @param initialCapacity the initial capacity of the hash table, rounded up to a power of two
+     * @param loadFactor      the load factor of the hash table
+     * @param hashFunction    the hash function used to hash keys
+     * @throws IllegalArgumentException if the initial capacity is negative, the load factor is non-positive or NaN,
+     *                                  or the hash function has no full hash code
+     */
+    public LockFreeHashMap(int initialCapacity, float loadFactor, HashFunction<K> hashFunction) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal initial capacity: " +
+                    initialCapacity);
+        if (loadFactor <= 0 || Float.isNaN(loadFactor))
+            throw new IllegalArgumentException("Illegal load factor: " +
+                    loadFactor);
+        if (!hashFunction.hasFullHash())
+            throw new IllegalArgumentException("Illegal hash function: " +
+                    hashFunction);
+        this.loadFactor = loadFactor;
+        this.hashFunction = hashFunction;
+        int capacity = initialCapacity <= 1 ? 1 : Integer.highestOneBit(initialCapacity - 1) << 1;
+        this.table = new AtomicReference<>(new AtomicReferenceArray<>(capacity));
+    }
+
+    /**
+     * Constructs a new hash map with the specified initial capacity and load factor.
+     *
+     * @param initialCapacity the initial capacity of the hash table
+     * @param loadFactor      the load factor of the hash table
+     * @throws IllegalArgumentException if the initial capacity is negative or the load factor is non-positive or NaN
+     */
+    public LockFreeHashMap(int initialCapacity, float loadFactor) {
+        this(initialCapacity, loadFactor, new Modulus<>());
+    }
+
+    /**
+     * Constructs a new hash map with the specified initial capacity.
+     *
+     * @param initialCapacity the initial capacity of the hash table
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    public LockFreeHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a new hash map with the default capacity.
+     */
+    public LockFreeHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the specified key.
+     *
+     * @param key the key whose presence in this map is to be tested
+     * @return true if this map contains a mapping for the specified key, false otherwise
+     */
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map. If a resize is in progress, the calling
+     * thread first helps to move buckets to the new table.
+     *
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     */
+    public void put(K key, V value) {
+        int hash = hash(key);
+        AtomicReferenceArray<Node<K, V>> tab = helpResize();
+        while (true) {
+            int index = hash & (tab.length() - 1);
+            Node<K, V> head = tab.get(index);
+            if (head instanceof Forward<K, V> forward) {
+                tab = forward.nextTable;
+                continue;
+            }
+            Node<K, V> found = head;
+            while (found != null && !(found.hash == hash && found.key.equals(key))) {
+                found = found.next;
+            }
+            Node<K, V> newHead;
+            if (found == null) {
+                newHead = new Node<>(key, hash, value, head);
+            } else {
+                newHead = copyPrefix(head, found, new Node<>(key, hash, value, found.next));
+            }
+            if (tab.compareAndSet(index, head, newHead)) {
+                if (found == null && size.incrementAndGet() > tab.length() * loadFactor) {
+                    startResize(tab);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the value associated with the specified key in this hash table. Lookups never help with a resize;
+     * they simply follow forwarding nodes to the new table.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value associated with the specified key, or {@code null} if this map contains no mapping for the key
+     */
+    public V get(K key) {
+        int hash = hash(key);
+        AtomicReferenceArray<Node<K, V>> tab = table.get();
+        while (true) {
+            Node<K, V> node = tab.get(hash & (tab.length() - 1));
+            if (node instanceof Forward<K, V> forward) {
+                tab = forward.nextTable;
+                continue;
+            }
+            for (; node != null; node = node.next) {
+                if (node.hash == hash && node.key.equals(key)) {
+                    return node.value;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Removes the mapping for a key from this hash table if it is present. If a resize is in progress, the calling
+     * thread first helps to move buckets to the new table.
+     *
+     * @param key the key whose mapping is to be removed from the map
+     */
+    public void remove(K key) {
+        int hash = hash(key);
+        AtomicReferenceArray<Node<K, V>> tab = helpResize();
+        while (true) {
+            int index = hash & (tab.length() - 1);
+            Node<K, V> head = tab.get(index);
+            if (head instanceof Forward<K, V> forward) {
+                tab = forward.nextTable;
+                continue;
+            }
+            Node<K, V> found = head;
+            while (found != null && !(found.hash == hash && found.key.equals(key))) {
+                found = found.next;
+            }
+            if (found == null) {
+                return;
+            }
+            if (tab.compareAndSet(index, head, copyPrefix(head, found, found.next))) {
+                size.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * This method returns a List of all the keys present in the hash table.
+     *
+     * @return a List of type K containing all the keys present in the hash table.
+     */
+    public List<K> keys() {
+        List<K> keys = new ArrayList<>();
+        forEachEntry((key, value) -> keys.add(key));
+        return keys;
+    }
+
+    /**
+     * This method returns a List of all the values present in the hash table.
+     *
+     * @return a List of type V containing all the values present in the hash table.
+     */
+    public List<V> values() {
+        List<V> values = new ArrayList<>();
+        forEachEntry((key, value) -> values.add(value));
+        return values;
+    }
+
+    /**
+     * This method returns a List of all the entries present in the hash table.
+     *
+     * @return a List of type Generic class called Entry has K Key, V Value containing all the entries present
+     * in the hash table.
+     */
+    public List<Entry<K, V>> entries() {
+        List<Entry<K, V>> entries = new ArrayList<>();
+        forEachEntry((key, value) -> entries.add(new Entry<>(key, value)));
+        return entries;
+    }
+
+    /**
+     * Performs the given action for each entry of the current table, following forwarding nodes into the table
+     * a resize in progress is moving buckets to.
+     *
+     * @param action the action to be performed for each entry
+     */
+    private void forEachEntry(BiConsumer<K, V> action) {
+        AtomicReferenceArray<Node<K, V>> tab = table.get();
+        for (int i = 0; i < tab.length(); i++) {
+            forEachEntry(tab, i, action);
+        }
+    }
+
+    /**
+     * Performs the given action for each entry of a bucket. A forwarded bucket was split into two buckets of the
+     * doubled table, which are visited instead.
+     *
+     * @param tab    the table holding the bucket
+     * @param index  the index of the bucket
+     * @param action the action to be performed for each entry
+     */
+    private static <K, V> void forEachEntry(AtomicReferenceArray<Node<K, V>> tab, int index, BiConsumer<K, V> action) {
+        Node<K, V> node = tab.get(index);
+        if (node instanceof Forward<K, V> forward) {
+            forEachEntry(forward.nextTable, index, action);
+            forEachEntry(forward.nextTable, index + tab.length(), action);
+            return;
+        }
+        for (; node != null; node = node.next) {
+            action.accept(node.key, node.value);
+        }
+    }
+
+    /**
+     * Returns a copy of the chain from {@code head} up to, but not including, {@code found}, linked to {@code tail}.
+     * The copied nodes end up in reverse order, which does not matter within a bucket.
+     *
+     * @param head  the first node of the chain
+     * @param found the node at which copying stops
+     * @param tail  the chain to link behind the copied nodes
+     * @return the first node of the new chain
+     */
+    private static <K, V> Node<K, V> copyPrefix(Node<K, V> head, Node<K, V> found, Node<K, V> tail) {
+        Node<K, V> newHead = tail;
+        for (Node<K, V> node = head; node != found; node = node.next) {
+            newHead = new Node<>(node.key, node.hash, node.value, newHead);
+        }
+        return newHead;
+    }
+
+    /**
+     * Starts doubling the given table unless a resize is already in progress or the table has been replaced,
+     * and helps to carry it out.
+     *
+     * @param tab the table that exceeded the load factor
+     */
+    private void startResize(AtomicReferenceArray<Node<K, V>> tab) {
+        if (resize.get() != null || table.get() != tab) {
+            return;
+        }
+        Resize<K, V> newResize = new Resize<>(tab, new AtomicReferenceArray<>(tab.length() * 2));
+        if (resize.compareAndSet(null, newResize)) {
+            transfer(newResize);
+        }
+    }
+
+    /**
+     * Helps with the resize in progress, if any, and returns the table to start an update from.
+     *
+     * @return the current table
+     */
+    private AtomicReferenceArray<Node<K, V>> helpResize() {
+        Resize<K, V> current = resize.get();
+        if (current != null) {
+            transfer(current);
+        }
+        return table.get();
+    }
+
+    /**
+     * Claims strides of buckets of the given resize and moves them until none are left to claim. The thread that
+     * moves the last bucket publishes the new table and ends the resize.
+     *
+     * @param resize the resize to help with
+     */
+    private void transfer(Resize<K, V> resize) {
+        int oldCapacity = resize.oldTable.length();
+        int start;
+        while ((start = resize.nextBucket.getAndAdd(TRANSFER_STRIDE)) < oldCapacity) {
+            int end = Math.min(start + TRANSFER_STRIDE, oldCapacity);
+            for (int i = start; i < end; i++) {
+                transferBucket(resize, i);
+            }
+            if (resize.remaining.addAndGet(start - end) == 0) {
+                table.compareAndSet(resize.oldTable, resize.newTable);
+                this.resize.compareAndSet(resize, null);
+            }
+        }
+    }
+
+    /**
+     * Copies a bucket of the old table into the two buckets of the new table it splits into, and then replaces it
+     * with the forwarding node. Until that replacement succeeds no other thread writes to the two target buckets,
+     * so the copy is simply redone if a concurrent update changed the bucket.
+     *
+     * @param resize the resize in progress
+     * @param index  the index of the bucket in the old table
+     */
+    private static <K, V> void transferBucket(Resize<K, V> resize, int index) {
+        int oldCapacity = resize.oldTable.length();
+        while (true) {
+            Node<K, V> head = resize.oldTable.get(index);
+            if (head instanceof Forward) {
+                return;
+            }
+            Node<K, V> lo = null;
+            Node<K, V> hi = null;
+            for (Node<K, V> node = head; node != null; node = node.next) {
+                if ((node.hash & oldCapacity) == 0) {
+                    lo = new Node<>(node.key, node.hash, node.value, lo);
+                } else {
+                    hi = new Node<>(node.key, node.hash, node.value, hi);
+                }
+            }
+            resize.newTable.set(index, lo);
+            resize.newTable.set(index + oldCapacity, hi);
+            if (resize.oldTable.compareAndSet(index, head, resize.forward)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Calculates the spread hash code of a key using the hash function.
+     *
+     * @param key the key for which the hash code needs to be calculated
+     * @return the hash code of the key with its high bits folded into its low bits
+     */
+    private int hash(K key) {
+        int h = this.hashFunction.hash(key);
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * An immutable node in a bucket chain.
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    private static class Node<K, V> {
+        private final K key;
+        private final int hash;
+        private final V value;
+        private final Node<K, V> next;
+
+        /**
+         * Constructs a new node in front of the given chain.
+         *
+         * @param key   the key of the node
+         * @param hash  the spread hash code of the key
+         * @param value the value of the node
+         * @param next  the rest of the chain
+         */
+        private Node(K key, int hash, V value, Node<K, V> next) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /**
+     * A marker placed in a bucket of the old table once it has been moved to the new table.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    private static final class Forward<K, V> extends Node<K, V> {
+        private final AtomicReferenceArray<Node<K, V>> nextTable;
+
+        /**
+         * Constructs a new forwarding node.
+         *
+         * @param nextTable the table the bucket has been moved to
+         */
+        private Forward(AtomicReferenceArray<Node<K, V>> nextTable) {
+            super(null, 0, null, null);
+            this.nextTable = nextTable;
+        }
+    }
+
+    /**
+     * The shared state of one resize: the two tables, the next bucket to hand out and the number of buckets that
+     * have not been moved yet.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    private static final class Resize<K, V> {
+        private final AtomicReferenceArray<Node<K, V>> oldTable;
+        private final AtomicReferenceArray<Node<K, V>> newTable;
+        private final Forward<K, V> forward;
+        private final AtomicInteger nextBucket = new AtomicInteger();
+        private final AtomicInteger remaining;
+
+        /**
+         * Constructs the state of a resize from the given table into the given, twice as large, table.
+         *
+         * @param oldTable the table being resized
+         * @param newTable the table the buckets are moved to
+         */
+        private Resize(AtomicReferenceArray<Node<K, V>> oldTable, AtomicReferenceArray<Node<K, V>> newTable) {
+            this.oldTable = oldTable;
+            this.newTable = newTable;
+            this.forward = new Forward<>(newTable);
+            this.remaining = new AtomicInteger(oldTable.length());
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package dataStructure.hashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * A hash map implementation that holds at most a fixed number of entries and evicts the least recently used
+ * entry to make room for a new one. The entries are kept in a {@link LinkedListHashMap} and in a doubly linked
+ * list ordered by recency, so {@link #get(Object)} and {@link #put(Object, Object)} take constant time: a hit moves
+ * the entry to the front of the list and an eviction drops the entry at its back.
+ *
+ * <p>The map counts hits, misses and evictions, so that the maximum size can be tuned to the workload.
+ * {@link #containsKey(Object)} neither counts nor changes the recency of an entry.</p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class LruHashMap<K, V> implements HashMap<K, V> {
+    private final LinkedListHashMap<K, Link<K, V>> map = new LinkedListHashMap<>();
+    private final Link<K, V> head = new Link<>(null);
+    private final int maximumSize;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Constructs a new empty map that holds at most the specified number of entries.
+     *
+     * @param maximumSize the maximum number of entries
+     * @throws IllegalArgumentException if the maximum size is not positive
+     */
+    public LruHashMap(int maximumSize) {
+        if (maximumSize <= 0)
+            throw new IllegalArgumentException("Illegal maximum size: " +
+                    maximumSize);
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns the maximum number of entries of this map.
+     *
+     * @return the maximum size
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the number of lookups that found their key.
+     *
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that did not find their key.
+     *
+     * @return the number of misses
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the fraction of lookups that found their key.
+     *
+     * @return the hit rate, or 0 if there were no lookups
+     */
+    public double getHitRate() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+
+    /**
+     * Returns the number of entries evicted to make room for new ones.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Resets the hit, miss and eviction counters to zero.
+     */
+    public void resetCounters() {
+        hitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the specified key. The recency of the entry is not changed.
+     *
+     * @param key the key whose presence in this map is to be tested
+     * @return true if this map contains a mapping for the specified key, false otherwise
+     */
+    public boolean containsKey(K key) {
+        return map.containsKey(key);
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map and makes it the most recently used entry.
+     * If the map is full and the key is new, the least recently used entry is evicted first.
+     *
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     */
+    public void put(K key, V value) {
+        Link<K, V> link = map.get(key);
+        if (link != null) {
+            link.unlink();
+        } else {
+            if (map.size() >= maximumSize) {
+                Link<K, V> eldest = head.previous;
+                eldest.unlink();
+                map.remove(eldest.key);
+                evictionCount++;
+            }
+            link = new Link<>(key);
+            map.put(key, link);
+        }
+        link.value = value;
+        link.linkAfter(head);
+    }
+
+    /**
+     * Returns the value associated with the specified key in this map and makes it the most recently used entry.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value associated with the specified key, or {@code null} if this map contains no mapping for the key
+     */
+    public V get(K key) {
+        Link<K, V> link = map.get(key);
+        if (link == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        link.unlink();
+        link.linkAfter(head);
+        return link.value;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present.
+     *
+     * @param key the key whose mapping is to be removed from the map
+     */
+    public void remove(K key) {
+        Link<K, V> link = map.get(key);
+        if (link != null) {
+            link.unlink();
+            map.remove(key);
+        }
+    }
+
+    /**
+     * Removes all of the mappings from this map. The counters are kept.
+     */
+    public void clear() {
+        for (Link<K, V> link = head.next; link != head; link = link.next) {
+            map.remove(link.key);
+        }
+        head.next = head;
+        head.previous = head;
+    }
+
+    /**
+     * This method returns a List of all the keys present in the hash table, from the most to the least recently
+     * used.
+     *
+     * @return a List of type K containing all the keys present in the hash table.
+     */
+    public List<K> keys() {
+        List<K> keys = new ArrayList<>(map.size());
+        forEach((key, value) -> keys.add(key));
+        return keys;
+    }
+
+    /**
+     * This method returns a List of all the values present in the hash table, from the most to the least recently
+     * used.
+     *
+     * @return a List of type V containing all the values present in the hash table.
+     */
+    public List<V> values() {
+        List<V> values = new ArrayList<>(map.size());
+        forEach((key, value) -> values.add(value));
+        return values;
+    }
+
+    /**
+     * This method returns a List of all the entries present in the hash table, from the most to the least recently
+     * used.
+     *
+     * @return a List of type Generic class called Entry has K Key, V Value containing all the entries present
+     * in the hash table.
+     */
+    public List<Entry<K, V>> entries() {
+        List<Entry<K, V>> entries = new ArrayList<>(map.size());
+        forEach((key, value) -> entries.add(new Entry<>(key, value)));
+        return entries;
+    }
+
+    /**
+     * Performs the given action for each entry, from the most to the least recently used, without changing their
+     * recency.
+     *
+     * @param action the action to be performed for each entry
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (Link<K, V> link = head.next; link != head; link = link.next) {
+            action.accept(link.key, link.value);
+        }
+    }
+
+    /**
+     * An entry of the map, linked into the circular recency list. The list has a sentinel entry without a key;
+     * the entry after it is the most recently used and the entry before it the least recently used.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    private static final class Link<K, V> {
+        private final K key;
+        private V value;
+        private Link<K, V> previous = this;
+        private Link<K, V> next = this;
+
+        /**
+         * Constructs a new unlinked entry.
+         *
+         * @param key the key of the entry, or null for the sentinel
+         */
+        Link(K key) {
+            this.key = key;
+        }
+
+        /**
+         * Links this entry into the list right after the given entry.
+         *
+         * @param link the entry to link this one after
+         */
+        void linkAfter(Link<K, V> link) {
+            previous = link;
+            next = link.next;
+            link.next.previous = this;
+            link.next = this;
+        }
+
+        /**
+         * Unlinks this entry from the list.
+         */
+        void unlink() {
+            previous.next = next;
+            next.previous = previous;
+            previous = this;
+            next = this;
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package dataStructure.hashMap;
+
+import dataStructure.hashMap.codec.FixedWidthCodec;
+import dataStructure.hashMap.hashFunction.HashFunction;
+import dataStructure.hashMap.hashFunction.Modulus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * A hash map implementation whose table lives in a memory-mapped file, so that it survives a restart of the
+ * process. Opening an existing file only maps it: no entry is read until it is looked up, and the operating
+ * system pages the table in on demand. Entries are stored like in {@link OffHeapHashMap}, as the hash of the key
+ * followed by the key and the value encoded by a {@link FixedWidthCodec}, with linear probing over a power-of-two
+ * table and backward-shift deletion.
+ *
+ * <p>The file starts with a header holding a magic number, the widths of the keys and values, the size, and a
+ * table descriptor that packs the position and the capacity of the table into one aligned eight-byte word. A
+ * resize writes the new table after the end of the file, forces it to the disk and only then switches the header
+ * to it with a single write of the descriptor, so the header always describes one complete table and the old
+ * table stays intact until the switch. Opening a file checks that the descriptor and the size fit the file.</p>
+ *
+ * <p>Changes are written to the mapped memory and reach the disk when the operating system writes the pages
+ * back, or at the latest when {@link #force()} is called. A file can only be reopened with codecs of the same
+ * widths and with a hash function that returns the same hashes as the one that wrote it, so the keys need a
+ * hashCode that does not depend on the identity of the object.</p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class MappedHashMap<K, V> implements HashMap<K, V>, AutoCloseable {
+    /**
+     * Default capacity of the hash table.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Default load factor of the hash table.
+     */
+    public static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * The first four bytes of every file written by this class.
+     */
+    private static final int MAGIC = 0x564D4150;
+    private static final int VERSION = 2;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int KEY_WIDTH_OFFSET = 8;
+    private static final int VALUE_WIDTH_OFFSET = 12;
+    private static final int TABLE_DESCRIPTOR_OFFSET = 16;
+    private static final int SIZE_OFFSET = 24;
+    private static final int HEADER_SIZE = 32;
+
+    /**
+     * The number of low bits of the table descriptor that hold the base-2 logarithm of the capacity; the bits
+     * above them hold the position of the table.
+     */
+    private static final int CAPACITY_BITS = 8;
+
+    private final float loadFactor;
+    private int capacity;
+    private int size;
+    private int threshold;
+
+    private final FileChannel channel;
+    private MappedByteBuffer header;
+    private MappedByteBuffer table;
+    private final SlotTable<K, V> slots;
+    private final FixedWidthCodec<K> keyCodec;
+    private final FixedWidthCodec<V> valueCodec;
+    private final int slotSize;
+    private final int maximumCapacity;
+
+    /**
+     * Opens the hash map stored in the given file, or creates it with the specified initial capacity if the file
+     * does not exist or is empty.
+     *
+     * @param file            the file holding the hash table
+     * @param keyCodec        the codec used to store the keys
+     * @param valueCodec      the codec used to store the values
+     * @param initialCapacity the initial capacity of a new hash table, rounded up to a power of two
+     * @param loadFactor      the load factor of the hash table
+     * @param hashFunction    the hash function used to find the home slot of a key
+     * @throws IllegalArgumentException if the initial capacity is negative or too large to fit in one mapping,
+     *                                  the load factor is not between 0 (exclusive) and 1 (exclusive), the hash
+     *                                  function has no full hash code, or the file was not written by this class
+     *                                  with codecs of the same widths or its header does not fit the file
+     * @throws UncheckedIOException     if the file cannot be opened or mapped
+     */
+    public MappedHashMap(Path file, FixedWidthCodec<K> keyCodec, FixedWidthCodec<V> valueCodec,
+                         int initialCapacity, float loadFactor, HashFunction<K> hashFunction) {
+        this.slots = new SlotTable<>(keyCodec, valueCodec, hashFunction);
+        this.slotSize = slots.slotSize();
+        this.maximumCapacity = slots.maximumCapacity();
+        if (initialCapacity < 0 || initialCapacity > maximumCapacity)
+            throw new IllegalArgumentException("Illegal initial capacity: " +
+                    initialCapacity);
+        if (loadFactor <= 0 || loadFactor >= 1 || Float.isNaN(loadFactor))
+            throw new IllegalArgumentException("Illegal load factor: " +
+                    loadFactor);
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.loadFactor = loadFactor;
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open " + file, e);
+        }
+        try {
+            boolean exists = channel.size() > 0;
+            this.header = map(0, HEADER_SIZE);
+            if (exists) {
+                open(file);
+            } else {
+                create(initialCapacity <= 2 ? 2 : Integer.highestOneBit(initialCapacity - 1) << 1);
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                channel.close();
+            } catch (IOException closeException) {
+                e.addSuppressed(closeException);
+            }
+            if (e instanceof IOException ioException) {
+                throw new UncheckedIOException("Cannot map " + file, ioException);
+            }
+            throw (RuntimeException) e;
+        }
+    }
+
+    /**
+     * Opens the hash map stored in the given file, or creates it with the specified initial capacity.
+     *
+     * @param file            the file holding the hash table
+     * @param keyCodec        the codec used to store the keys
+     * @param valueCodec      the codec used to store the values
+     * @param initialCapacity the initial capacity of a new hash table
+     */
+    public MappedHashMap(Path file, FixedWidthCodec<K> keyCodec, FixedWidthCodec<V> valueCodec,
+                         int initialCapacity) {
+        this(file, keyCodec, valueCodec, initialCapacity, DEFAULT_LOAD_FACTOR, new Modulus<>());
+    }
+
+    /**
+     * Opens the hash map stored in the given file, or creates it with the default capacity.
+     *
+     * @param file       the file holding the hash table
+     * @param keyCodec   the codec used to store the keys
+     * @param valueCodec the codec used to store the values
+     */
+    public MappedHashMap(Path file, FixedWidthCodec<K> keyCodec, FixedWidthCodec<V> valueCodec) {
+        this(file, keyCodec, valueCodec, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the specified key.
+     *
+     * @param key the key whose presence in this map is to be tested
+     * @return true if this map contains a mapping for the specified key, false otherwise
+     */
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map. The key and the value are written
+     * before the stored hash, which is what marks the slot as occupied.
+     *
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @throws NullPointerException  if the key or the value is null
+     * @throws IllegalStateException if the map has been closed or the table cannot grow any further
+     */
+    public void put(K key, V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        ensureOpen();
+        int hash = slots.hash(key);
+        int index = slots.indexOf(key, hash);
+        if (index >= 0) {
+            slots.setValue(index, value);
+            return;
+        }
+        if (size + 1 > threshold) {
+            if (capacity == maximumCapacity) {
+                throw new IllegalStateException("Hash table is full");
+            }
+            resize();
+        }
+        slots.insert(key, hash, value);
+        header.putInt(SIZE_OFFSET, ++size);
+    }
+
+    /**
+     * Returns the value associated with the specified key in this map.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value associated with the specified key, or null if this map contains no mapping for the key
+     * @throws IllegalStateException if the map has been closed
+     */
+    public V get(K key) {
+        ensureOpen();
+        if (key == null) {
+            return null;
+        }
+        int index = slots.indexOf(key, slots.hash(key));
+        return index >= 0 ? slots.value(index) : null;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present. The entries following the removed one in
+     * its probe sequence are moved back, so that every entry stays reachable from its home slot.
+     *
+     * @param key the key whose mapping is to be removed from the map
+     * @throws IllegalStateException if the map has been closed
+     */
+    public void remove(K key) {
+        ensureOpen();
+        if (key == null) {
+            return;
+        }
+        int index = slots.indexOf(key, slots.hash(key));
+        if (index < 0) {
+            return;
+        }
+        slots.delete(index);
+        header.putInt(SIZE_OFFSET, --size);
+    }
+
+    /**
+     * This method returns a List of all the keys present in the hash table, decoded from the file.
+     *
+     * @return a List of type K containing all the keys present in the hash table.
+     */
+    public List<K> keys() {
+        List<K> keysList = new ArrayList<>(size);
+        forEach((key, value) -> keysList.add(key));
+        return keysList;
+    }
+
+    /**
+     * This method returns a List of all the values present in the hash table, decoded from the file.
+     *
+     * @return a List of type V containing all the values present in the hash table.
+     */
+    public List<V> values() {
+        List<V> valuesList = new ArrayList<>(size);
+        forEach((key, value) -> valuesList.add(value));
+        return valuesList;
+    }
+
+    /**
+     * This method returns a List of all the entries present in the hash table, decoded from the file.
+     *
+     * @return a List of type Generic class called Entry has K Key, V Value containing all the entries present
+     * in the hash table.
+     */
+    public List<Entry<K, V>> entries() {
+        List<Entry<K, V>> entriesList = new ArrayList<>(size);
+        forEach((key, value) -> entriesList.add(new Entry<>(key, value)));
+        return entriesList;
+    }
+
+    /**
+     * Performs the given action for each entry, decoding the keys and values from the occupied slots.
+     *
+     * @param action the action to be performed for each entry
+     * @throws IllegalStateException if the map has been closed
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        ensureOpen();
+        slots.forEach(action);
+    }
+
+    /**
+     * Returns a cursor that walks the slots of the table in place and decodes the entry it is on on demand.
+     *
+     * @return a cursor positioned before the first entry of this map
+     * @throws IllegalStateException if the map has been closed
+     */
+    @Override
+    public Cursor<K, V> cursor() {
+        ensureOpen();
+        return slots.cursor();
+    }
+
+    /**
+     * Writes every change made to the table and the header so far to the disk, so that the map can be
+     * reopened in this state even after a crash of the machine.
+     *
+     * @throws IllegalStateException if the map has been closed
+     */
+    public void force() {
+        ensureOpen();
+        table.force();
+        header.force();
+    }
+
+    /**
+     * Writes every change to the disk and closes the file. The map cannot be used afterwards.
+     *
+     * @throws UncheckedIOException if the file cannot be closed
+     */
+    @Override
+    public void close() {
+        if (table == null) {
+            return;
+        }
+        force();
+        table = null;
+        header = null;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close the mapped file", e);
+        }
+    }
+
+    /**
+     * Reads the header of an existing file, checks that the table it describes and the size fit the file, and
+     * maps the table.
+     *
+     * @param file the file being opened, for error messages
+     * @throws IOException if the table cannot be mapped
+     */
+    private void open(Path file) throws IOException {
+        if (header.getInt(MAGIC_OFFSET) != MAGIC || header.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IllegalArgumentException("Not a hash map file: " + file);
+        }
+        if (header.getInt(KEY_WIDTH_OFFSET) != keyCodec.width()
+                || header.getInt(VALUE_WIDTH_OFFSET) != valueCodec.width()) {
+            throw new IllegalArgumentException("Codec widths do not match the file: " + file);
+        }
+        long descriptor = header.getLong(TABLE_DESCRIPTOR_OFFSET);
+        int capacityBits = (int) (descriptor & ((1 << CAPACITY_BITS) - 1));
+        long position = descriptor >>> CAPACITY_BITS;
+        if (capacityBits < 1 || capacityBits > Integer.numberOfTrailingZeros(maximumCapacity)
+                || position < HEADER_SIZE || position + ((long) slotSize << capacityBits) > channel.size()) {
+            throw new IllegalArgumentException("Corrupt table descriptor in " + file);
+        }
+        int capacity = 1 << capacityBits;
+        int size = header.getInt(SIZE_OFFSET);
+        if (size < 0 || size >= capacity) {
+            throw new IllegalArgumentException("Corrupt size in " + file);
+        }
+        setTable(map(position, capacity * slotSize), capacity);
+        this.size = size;
+    }
+
+    /**
+     * Writes the header of a new file and maps an empty table of the given capacity after it.
+     *
+     * @param capacity the power-of-two capacity of the table
+     * @throws IOException if the table cannot be mapped
+     */
+    private void create(int capacity) throws IOException {
+        setTable(map(HEADER_SIZE, capacity * slotSize), capacity);
+        header.putInt(KEY_WIDTH_OFFSET, keyCodec.width());
+        header.putInt(VALUE_WIDTH_OFFSET, valueCodec.width());
+        header.putInt(SIZE_OFFSET, 0);
+        header.putLong(TABLE_DESCRIPTOR_OFFSET, descriptor(HEADER_SIZE, capacity));
+        header.putInt(VERSION_OFFSET, VERSION);
+        header.putInt(MAGIC_OFFSET, MAGIC);
+    }
+
+    /**
+     * Resizes the hash table by doubling its capacity. The new table is mapped after the end of the file and
+     * the slots are copied byte for byte to their new home, which is found from the stored hash. The header is
+     * switched to the new table with a single write of the table descriptor, only once the new table has been
+     * written to the disk, and the header is forced right after. The space of the old table is not reused, so
+     * the file ends up about twice as large as the table.
+     */
+    private void resize() {
+        int newCapacity = capacity * 2;
+        long position;
+        MappedByteBuffer newTable;
+        try {
+            position = channel.size();
+            newTable = map(position, newCapacity * slotSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot grow the mapped file", e);
+        }
+        slots.copyTo(newTable, newCapacity);
+        newTable.force();
+        setTable(newTable, newCapacity);
+        header.putLong(TABLE_DESCRIPTOR_OFFSET, descriptor(position, newCapacity));
+        header.force();
+    }
+
+    /**
+     * Packs the position and the capacity of a table into the word stored in the header.
+     *
+     * @param position the position of the table in the file
+     * @param capacity the power-of-two capacity of the table
+     * @return the table descriptor
+     */
+    private static long descriptor(long position, int capacity) {
+        return position << CAPACITY_BITS | Integer.numberOfTrailingZeros(capacity);
+    }
+
+    /**
+     * Switches to the given table and sets the capacity and the threshold derived from it.
+     *
+     * @param table    the mapped region holding the slots
+     * @param capacity the number of slots in the region
+     */
+    private void setTable(MappedByteBuffer table, int capacity) {
+        this.table = table;
+        slots.setTable(table, capacity);
+        this.capacity = capacity;
+        this.threshold = Math.min(capacity - 1, (int) (capacity * loadFactor));
+    }
+
+    /**
+     * Maps a region of the file for reading and writing, growing the file if the region goes past its end.
+     *
+     * @param position the position of the region in the file
+     * @param length   the length of the region in bytes
+     * @return the mapped region in the native byte order
+     * @throws IOException if the region cannot be mapped
+     */
+    private MappedByteBuffer map(long position, int length) throws IOException {
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, position, length);
+        mapped.order(ByteOrder.nativeOrder());
+        return mapped;
+    }
+
+    /**
+     * Throws if the map has been closed.
+     *
+     * @throws IllegalStateException if the map has been closed
+     */
+    private void ensureOpen() {
+        if (table == null) {
+            throw new IllegalStateException("Map is closed");
+        }
+    }
+}
@@ -12,6 +12,11 @@ class Node<K, V> {
      */
     K key;
 
+    /**
+     * The hash of the key, computed when the node is created and again only if the map changes hash function.
+     */
+    int hash;
+
     /**
      * The value of this node.
      */
@@ -23,13 +28,15 @@ class Node<K, V> {
     Node<K, V> next;
 
     /**
-     * Constructs a new node with the specified key and value.
+     * Constructs a new node with the specified key, hash and value.
      *
      * @param key the key of the new node
+     * @param hash the hash of the key
      * @param value the value of the new node
      */
-    public Node(K key, V value) {
+    public Node(K key, int hash, V value) {
         this.key = key;
+        this.hash = hash;
         this.value = value;
         this.next = null;
     }
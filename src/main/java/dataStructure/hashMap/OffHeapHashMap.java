@@ -0,0 +1,292 @@
+package dataStructure.hashMap;
+
+import dataStructure.hashMap.codec.FixedWidthCodec;
+import dataStructure.hashMap.hashFunction.HashFunction;
+import dataStructure.hashMap.hashFunction.Modulus;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * A hash map implementation that keeps its whole table in direct memory outside the Java heap, so that the
+ * garbage collector never has to trace its entries. Keys and values are converted to a fixed number of bytes by
+ * a {@link FixedWidthCodec}, and each slot of the table holds the hash of the key followed by the encoded key and
+ * value. Collisions are resolved with linear probing over a power-of-two table, and removals shift the following
+ * entries back instead of leaving tombstones.
+ *
+ * <p>Keys and values are decoded into new objects whenever they are returned, so the map pays off for large
+ * tables that are mostly probed with get and put rather than traversed. Null keys and values are not
+ * supported.</p>
+ *
+ * <p>The table is a single buffer of at most {@link Integer#MAX_VALUE} bytes, so its capacity is the largest
+ * power of two of slots that fits: 2<sup>27</sup> slots, about 134 million, for the 12-byte slots of int keys
+ * and int values, which hold about 100 million entries at the default load factor.</p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class OffHeapHashMap<K, V> implements HashMap<K, V> {
+    /**
+     * Default capacity of the hash table.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Default load factor of the hash table.
+     */
+    public static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * Default resizable property of the hash table.
+     */
+    public static final boolean DEFAULT_RESIZABLE = true;
+
+    private final float loadFactor;
+    private int capacity;
+    private int size;
+    private int threshold;
+    private final boolean resizable;
+
+    private final SlotTable<K, V> slots;
+    private final int maximumCapacity;
+
+    /**
+     * Constructs a new hash map with the specified codecs, initial capacity, resizable property, load factor and
+     * hash function.
+     *
+     * @param keyCodec        the codec used to store the keys
+     * @param valueCodec      the codec used to store the values
+     * @param initialCapacity the initial capacity of the hash table, rounded up to a power of two
+     * @param resizable       whether the hash table is resizable
+     * @param loadFactor      the load factor of the hash table
+     * @param hashFunction    the hash function used to find the home slot of a key
+     * @throws IllegalArgumentException if the initial capacity is negative or too large to fit in one buffer,
+     *                                  the load factor is not between 0 (exclusive) and 1 (exclusive), or the
+     *                                  hash function has no full hash code
+     */
+    public OffHeapHashMap(FixedWidthCodec<K> keyCodec, FixedWidthCodec<V> valueCodec, int initialCapacity,
+                          boolean resizable, float loadFactor, HashFunction<K> hashFunction) {
+        this.slots = new SlotTable<>(keyCodec, valueCodec, hashFunction);
+        this.maximumCapacity = slots.maximumCapacity();
+        if (initialCapacity < 0 || initialCapacity > maximumCapacity)
+            throw new IllegalArgumentException("Illegal initial capacity: " +
+                    initialCapacity);
+        if (loadFactor <= 0 || loadFactor >= 1 || Float.isNaN(loadFactor))
+            throw new IllegalArgumentException("Illegal load factor: " +
+                    loadFactor);
+        this.loadFactor = loadFactor;
+        this.resizable = resizable;
+        allocate(initialCapacity <= 2 ? 2 : Integer.highestOneBit(initialCapacity - 1) << 1);
+    }
+
+    /**
+     * Constructs a new hash map with the specified codecs, capacity and resizable property.
+     *
+     * @param keyCodec   the codec used to store the keys
+     * @param valueCodec the codec used to store the values
+     * @param capacity   the capacity of the hash table
+     * @param resizable  whether the hash table is resizable
+     */
+    public OffHeapHashMap(FixedWidthCodec<K> keyCodec, FixedWidthCodec<V> valueCodec, int capacity,
+                          boolean resizable) {
+        this(keyCodec, valueCodec, capacity, resizable, DEFAULT_LOAD_FACTOR, new Modulus<>());
+    }
+
+    /**
+     * Constructs a new hash map with the specified codecs and initial capacity.
+     *
+     * @param keyCodec        the codec used to store the keys
+     * @param valueCodec      the codec used to store the values
+     * @param initialCapacity the initial capacity of the hash table
+     */
+    public OffHeapHashMap(FixedWidthCodec<K> keyCodec, FixedWidthCodec<V> valueCodec, int initialCapacity) {
+        this(keyCodec, valueCodec, initialCapacity, DEFAULT_RESIZABLE);
+    }
+
+    /**
+     * Constructs a new hash map with the specified codecs and the default capacity.
+     *
+     * @param keyCodec   the codec used to store the keys
+     * @param valueCodec the codec used to store the values
+     */
+    public OffHeapHashMap(FixedWidthCodec<K> keyCodec, FixedWidthCodec<V> valueCodec) {
+        this(keyCodec, valueCodec, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the specified key.
+     *
+     * @param key the key whose presence in this map is to be tested
+     * @return true if this map contains a mapping for the specified key, false otherwise
+     */
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map, encoding both into the table.
+     *
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @throws NullPointerException  if the key or the value is null
+     * @throws IllegalStateException if the table is full and cannot be resized
+     */
+    public void put(K key, V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        int hash = slots.hash(key);
+        int index = slots.indexOf(key, hash);
+        if (index >= 0) {
+            slots.setValue(index, value);
+            return;
+        }
+        if (size + 1 > threshold) {
+            if (!resizable || capacity == maximumCapacity) {
+                throw new IllegalStateException("Hash table is full");
+            }
+            resize();
+        }
+        slots.insert(key, hash, value);
+        size++;
+    }
+
+    /**
+     * Returns the value associated with the specified key in this map.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value associated with the specified key, or null if this map contains no mapping for the key
+     */
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        int index = slots.indexOf(key, slots.hash(key));
+        return index >= 0 ? slots.value(index) : null;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present. The entries following the removed one in
+     * its probe sequence are moved back, so that every entry stays reachable from its home slot.
+     *
+     * @param key the key whose mapping is to be removed from the map
+     */
+    public void remove(K key) {
+        if (key == null) {
+            return;
+        }
+        int index = slots.indexOf(key, slots.hash(key));
+        if (index < 0) {
+            return;
+        }
+        slots.delete(index);
+        size--;
+    }
+
+    /**
+     * This method returns a List of all the keys present in the hash table, decoded from direct memory.
+     *
+     * @return a List of type K containing all the keys present in the hash table.
+     */
+    public List<K> keys() {
+        List<K> keysList = new ArrayList<>(size);
+        forEach((key, value) -> keysList.add(key));
+        return keysList;
+    }
+
+    /**
+     * This method returns a List of all the values present in the hash table, decoded from direct memory.
+     *
+     * @return a List of type V containing all the values present in the hash table.
+     */
+    public List<V> values() {
+        List<V> valuesList = new ArrayList<>(size);
+        forEach((key, value) -> valuesList.add(value));
+        return valuesList;
+    }
+
+    /**
+     * This method returns a List of all the entries present in the hash table, decoded from direct memory.
+     *
+     * @return a List of type Generic class called Entry has K Key, V Value containing all the entries present
+     * in the hash table.
+     */
+    public List<Entry<K, V>> entries() {
+        List<Entry<K, V>> entriesList = new ArrayList<>(size);
+        forEach((key, value) -> entriesList.add(new Entry<>(key, value)));
+        return entriesList;
+    }
+
+    /**
+     * Performs the given action for each entry, decoding the keys and values from the occupied slots.
+     *
+     * @param action the action to be performed for each entry
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        slots.forEach(action);
+    }
+
+    /**
+     * Returns a cursor that walks the slots of the table in place and decodes the entry it is on on demand.
+     *
+     * @return a cursor positioned before the first entry of this map
+     */
+    @Override
+    public Cursor<K, V> cursor() {
+        return slots.cursor();
+    }
+
+    /**
+     * Returns the number of bytes of direct memory held by the table.
+     *
+     * @return the size of the table in bytes
+     */
+    public long getOffHeapBytes() {
+        return (long) capacity * slots.slotSize();
+    }
+
+    /**
+     * Resizes the hash table by doubling its capacity. The slots are copied byte for byte to their new home,
+     * which is found from the stored hash, so no key is decoded or hashed again.
+     */
+    private void resize() {
+        int newCapacity = capacity * 2;
+        ByteBuffer newTable = ByteBuffer.allocateDirect(newCapacity * slots.slotSize()).order(ByteOrder.nativeOrder());
+        slots.copyTo(newTable, newCapacity);
+        setTable(newTable, newCapacity);
+    }
+
+    /**
+     * Allocates a zeroed direct buffer for a table of the given power-of-two capacity.
+     *
+     * @param capacity the number of slots to allocate
+     */
+    private void allocate(int capacity) {
+        setTable(ByteBuffer.allocateDirect(capacity * slots.slotSize()).order(ByteOrder.nativeOrder()), capacity);
+    }
+
+    /**
+     * Switches to the given table and sets the capacity and the threshold derived from it.
+     *
+     * @param table    the buffer holding the slots
+     * @param capacity the number of slots in the buffer
+     */
+    private void setTable(ByteBuffer table, int capacity) {
+        slots.setTable(table, capacity);
+        this.capacity = capacity;
+        this.threshold = Math.min(capacity - 1, (int) (capacity * loadFactor));
+    }
+}
@@ -0,0 +1,714 @@
+package dataStructure.hashMap;
+
+import dataStructure.hashMap.hashFunction.HashFunction;
+import dataStructure.hashMap.hashFunction.Modulus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * A hash map implementation backed by a persistent hash array mapped trie. Every node of the trie is immutable;
+ * an update copies only the nodes on the path from the root to the changed entry and shares all the others with
+ * the previous version. The map itself is a handle on the current version, so {@link #snapshot()} returns a
+ * frozen copy of the map in constant time, and {@link #with(Object, Object)} and {@link #without(Object)} return
+ * updated copies while leaving this map as it is.
+ *
+ * <p>Each level of the trie consumes five bits of the hash code of a key, starting with the lowest ones. A node
+ * keeps a 32-bit bitmap of the children it has and an array holding only those children, so a node with few
+ * children stays small. Keys whose full hash codes are equal end up in a collision node at the bottom.</p>
+ *
+ * <p>A single thread may update the map while any number of threads read it. Readers see either the version
+ * before or the version after an update, never a partial one, and a snapshot or a cursor keeps seeing the
+ * version it was taken from however the map changes afterwards. Concurrent updates from several threads are
+ * not supported.</p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class PersistentHashMap<K, V> implements HashMap<K, V> {
+    /**
+     * Number of hash code bits consumed per level of the trie.
+     */
+    private static final int BITS = 5;
+
+    /**
+     * Mask of the hash code bits consumed per level of the trie.
+     */
+    private static final int MASK = (1 << BITS) - 1;
+
+    /**
+     * Maximum depth of the trie, counting the collision nodes below the deepest branches.
+     */
+    private static final int MAX_DEPTH = (Integer.SIZE + BITS - 1) / BITS + 1;
+
+    private final HashFunction<K> hashFunction;
+    private volatile Version<K, V> version;
+
+    /**
+     * Constructs a new empty map that hashes keys with the specified hash function.
+     *
+     * @param hashFunction the hash function used to hash keys
+     * @throws IllegalArgumentException if the hash function has no full hash code
+     */
+    public PersistentHashMap(HashFunction<K> hashFunction) {
+        this(hashFunction, new Version<>(Branch.empty(), 0));
+        if (!hashFunction.hasFullHash())
+            throw new IllegalArgumentException("Illegal hash function: " +
+                    hashFunction);
+    }
+
+    /**
+     * Constructs a new empty map.
+     */
+    public PersistentHashMap() {
+        this(new Modulus<>());
+    }
+
+    /**
+     * Constructs a new map on the given version.
+     *
+     * @param hashFunction the hash function used to hash keys
+     * @param version      the version of the map
+     */
+    private PersistentHashMap(HashFunction<K> hashFunction, Version<K, V> version) {
+        this.hashFunction = hashFunction;
+        this.version = version;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return version.size;
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the specified key.
+     *
+     * @param key the key whose presence in this map is to be tested
+     * @return true if this map contains a mapping for the specified key, false otherwise
+     */
+    public boolean containsKey(K key) {
+        return find(version.root, hashFunction.hash(key), key) != null;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map, publishing a new version of the map.
+     *
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     */
+    public void put(K key, V value) {
+        version = put(version, key, value);
+    }
+
+    /**
+     * Returns the value associated with the specified key in this map.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value associated with the specified key, or {@code null} if this map contains no mapping for the key
+     */
+    public V get(K key) {
+        Leaf<K, V> leaf = find(version.root, hashFunction.hash(key), key);
+        return leaf != null ? leaf.value : null;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present, publishing a new version of the map.
+     *
+     * @param key the key whose mapping is to be removed from the map
+     */
+    public void remove(K key) {
+        version = remove(version, key);
+    }
+
+    /**
+     * Copies all of the given entries into this map, publishing them together in a single new version, so that
+     * readers see either none or all of them. Later entries replace earlier ones with the same key.
+     *
+     * @param entries the entries to be stored in this map
+     */
+    @Override
+    public void putAll(Collection<? extends Entry<? extends K, ? extends V>> entries) {
+        Version<K, V> updated = version;
+        for (Entry<? extends K, ? extends V> entry : entries) {
+            updated = put(updated, entry.getKey(), entry.getValue());
+        }
+        version = updated;
+    }
+
+    /**
+     * Removes the mappings for all of the given keys from this map, publishing the removals together in a single
+     * new version. Keys that are not present are ignored.
+     *
+     * @param keys the keys whose mappings are to be removed from the map
+     */
+    @Override
+    public void removeAll(Collection<? extends K> keys) {
+        Version<K, V> updated = version;
+        for (K key : keys) {
+            updated = remove(updated, key);
+        }
+        version = updated;
+    }
+
+    /**
+     * Returns a copy of this map with the specified key associated with the specified value. This map is not
+     * changed; the copy shares all but the nodes on the path to the key with it.
+     *
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return the updated copy of this map
+     */
+    public PersistentHashMap<K, V> with(K key, V value) {
+        return new PersistentHashMap<>(hashFunction, put(version, key, value));
+    }
+
+    /**
+     * Returns a copy of this map without a mapping for the specified key. This map is not changed; the copy
+     * shares all but the nodes on the path to the key with it.
+     *
+     * @param key the key whose mapping is to be removed from the copy
+     * @return the updated copy of this map
+     */
+    public PersistentHashMap<K, V> without(K key) {
+        return new PersistentHashMap<>(hashFunction, remove(version, key));
+    }
+
+    /**
+     * Returns a copy of the current version of this map, in constant time. Later updates of this map do not
+     * show in the copy and updates of the copy do not show in this map.
+     *
+     * @return a copy of this map
+     */
+    public PersistentHashMap<K, V> snapshot() {
+        return new PersistentHashMap<>(hashFunction, version);
+    }
+
+    /**
+     * This method returns a List of all the keys present in the hash table.
+     *
+     * @return a List of type K containing all the keys present in the hash table.
+     */
+    public List<K> keys() {
+        List<K> keys = new ArrayList<>();
+        forEach((key, value) -> keys.add(key));
+        return keys;
+    }
+
+    /**
+     * This method returns a List of all the values present in the hash table.
+     *
+     * @return a List of type V containing all the values present in the hash table.
+     */
+    public List<V> values() {
+        List<V> values = new ArrayList<>();
+        forEach((key, value) -> values.add(value));
+        return values;
+    }
+
+    /**
+     * This method returns a List of all the entries present in the hash table.
+     *
+     * @return a List of type Generic class called Entry has K Key, V Value containing all the entries present
+     * in the hash table.
+     */
+    public List<Entry<K, V>> entries() {
+        List<Entry<K, V>> entries = new ArrayList<>();
+        forEach((key, value) -> entries.add(new Entry<>(key, value)));
+        return entries;
+    }
+
+    /**
+     * Performs the given action for each entry of the current version of this map.
+     *
+     * @param action the action to be performed for each entry
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Cursor<K, V> cursor = cursor();
+        while (cursor.next()) {
+            action.accept(cursor.key(), cursor.value());
+        }
+    }
+
+    /**
+     * Returns a cursor that walks the trie of the current version of this map in place. The cursor keeps
+     * walking that version however the map changes afterwards; a reset moves it to the version current then.
+     *
+     * @return a cursor positioned before the first entry of this map
+     */
+    @Override
+    public Cursor<K, V> cursor() {
+        return new TrieCursor();
+    }
+
+    /**
+     * Returns the version with the specified key associated with the specified value.
+     *
+     * @param version the version to update
+     * @param key     the key with which the specified value is to be associated
+     * @param value   the value to be associated with the specified key
+     * @return the updated version, or the given one if the key is already associated with the value
+     */
+    private Version<K, V> put(Version<K, V> version, K key, V value) {
+        int hash = hashFunction.hash(key);
+        Leaf<K, V> leaf = find(version.root, hash, key);
+        if (leaf != null && leaf.value == value) {
+            return version;
+        }
+        Branch<K, V> root = put(version.root, 0, new Leaf<>(key, hash, value));
+        return new Version<>(root, leaf == null ? version.size + 1 : version.size);
+    }
+
+    /**
+     * Returns the version without a mapping for the specified key.
+     *
+     * @param version the version to update
+     * @param key     the key whose mapping is to be removed
+     * @return the updated version, or the given one if it has no mapping for the key
+     */
+    private Version<K, V> remove(Version<K, V> version, K key) {
+        int hash = hashFunction.hash(key);
+        if (find(version.root, hash, key) == null) {
+            return version;
+        }
+        Object root = remove(version.root, 0, hash, key);
+        if (root instanceof Branch) {
+            //noinspection unchecked
+            return new Version<>((Branch<K, V>) root, version.size - 1);
+        }
+        // The root lost all but one entry or collision node, which is put back into a branch of its own.
+        return new Version<>(root == null ? Branch.empty() : Branch.of(hashOf(root), 0, root), version.size - 1);
+    }
+
+    /**
+     * Finds the leaf of a key, walking down from the given root one level per five bits of the hash code.
+     *
+     * @param root the root of the trie
+     * @param hash the hash code of the key
+     * @param key  the key to find
+     * @param <K>  the type of the keys
+     * @param <V>  the type of the values
+     * @return the leaf of the key, or null if the trie has no mapping for it
+     */
+    private static <K, V> Leaf<K, V> find(Branch<K, V> root, int hash, K key) {
+        Branch<K, V> branch = root;
+        for (int shift = 0; ; shift += BITS) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((branch.bitmap & bit) == 0) {
+                return null;
+            }
+            Object child = branch.children[Integer.bitCount(branch.bitmap & (bit - 1))];
+            if (child instanceof Branch) {
+                //noinspection unchecked
+                branch = (Branch<K, V>) child;
+            } else if (child instanceof Leaf) {
+                //noinspection unchecked
+                Leaf<K, V> leaf = (Leaf<K, V>) child;
+                return leaf.hash == hash && leaf.key.equals(key) ? leaf : null;
+            } else {
+                //noinspection unchecked
+                Collision<K, V> collision = (Collision<K, V>) child;
+                return collision.hash == hash ? collision.find(key) : null;
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the branch with the leaf put into it, replacing the leaf of an equal key.
+     *
+     * @param branch the branch to put the leaf into
+     * @param shift  the number of hash code bits consumed above the branch
+     * @param leaf   the leaf to put
+     * @param <K>    the type of the keys
+     * @param <V>    the type of the values
+     * @return the updated copy of the branch
+     */
+    private static <K, V> Branch<K, V> put(Branch<K, V> branch, int shift, Leaf<K, V> leaf) {
+        int bit = 1 << ((leaf.hash >>> shift) & MASK);
+        int index = Integer.bitCount(branch.bitmap & (bit - 1));
+        if ((branch.bitmap & bit) == 0) {
+            return branch.insert(bit, index, leaf);
+        }
+        Object child = branch.children[index];
+        Object updated;
+        if (child instanceof Branch) {
+            //noinspection unchecked
+            updated = put((Branch<K, V>) child, shift + BITS, leaf);
+        } else if (child instanceof Leaf) {
+            //noinspection unchecked
+            Leaf<K, V> existing = (Leaf<K, V>) child;
+            updated = existing.hash == leaf.hash && existing.key.equals(leaf.key)
+                    ? leaf : merge(existing, existing.hash, leaf, shift + BITS);
+        } else {
+            //noinspection unchecked
+            Collision<K, V> collision = (Collision<K, V>) child;
+            updated = collision.hash == leaf.hash
+                    ? collision.put(leaf) : merge(collision, collision.hash, leaf, shift + BITS);
+        }
+        return branch.replace(index, updated);
+    }
+
+    /**
+     * Returns the node holding both an existing leaf or collision node and a new leaf with a different key.
+     *
+     * @param existing     the existing leaf or collision node
+     * @param existingHash the hash code of the existing keys
+     * @param leaf         the new leaf
+     * @param shift        the number of hash code bits consumed above the new node
+     * @param <K>          the type of the keys
+     * @param <V>          the type of the values
+     * @return a collision node if the hash codes are equal, otherwise the branch that tells them apart
+     */
+    private static <K, V> Object merge(Object existing, int existingHash, Leaf<K, V> leaf, int shift) {
+        if (existingHash == leaf.hash) {
+            //noinspection unchecked
+            return new Collision<>(leaf.hash, new Leaf[]{(Leaf<K, V>) existing, leaf});
+        }
+        int existingIndex = (existingHash >>> shift) & MASK;
+        int index = (leaf.hash >>> shift) & MASK;
+        if (existingIndex == index) {
+            return Branch.of(existingHash, shift, merge(existing, existingHash, leaf, shift + BITS));
+        }
+        Object[] children = existingIndex < index ? new Object[]{existing, leaf} : new Object[]{leaf, existing};
+        return new Branch<K, V>((1 << existingIndex) | (1 << index), children);
+    }
+
+    /**
+     * Returns the node that replaces the branch once the mapping for a key present in it is removed. A branch
+     * left with a single leaf or collision node is replaced by that node, so that the trie stays as shallow
+     * as the remaining keys allow.
+     *
+     * @param branch the branch to remove the key from
+     * @param shift  the number of hash code bits consumed above the branch
+     * @param hash   the hash code of the key
+     * @param key    the key to remove
+     * @param <K>    the type of the keys
+     * @param <V>    the type of the values
+     * @return the updated copy of the branch, its only remaining leaf or collision node, or null if it is empty
+     */
+    private static <K, V> Object remove(Branch<K, V> branch, int shift, int hash, K key) {
+        int bit = 1 << ((hash >>> shift) & MASK);
+        int index = Integer.bitCount(branch.bitmap & (bit - 1));
+        Object child = branch.children[index];
+        Object updated;
+        if (child instanceof Branch) {
+            //noinspection unchecked
+            updated = remove((Branch<K, V>) child, shift + BITS, hash, key);
+        } else if (child instanceof Leaf) {
+            updated = null;
+        } else {
+            //noinspection unchecked
+            updated = ((Collision<K, V>) child).remove(key);
+        }
+
+        Branch<K, V> result = updated == null ? branch.delete(bit, index) : branch.replace(index, updated);
+        if (result.children.length == 0) {
+            return null;
+        }
+        if (result.children.length == 1 && !(result.children[0] instanceof Branch)) {
+            return result.children[0];
+        }
+        return result;
+    }
+
+    /**
+     * Returns the hash code shared by the keys of a leaf or collision node.
+     *
+     * @param node the leaf or collision node
+     * @return the hash code of its keys
+     */
+    private static int hashOf(Object node) {
+        return node instanceof Leaf<?, ?> leaf ? leaf.hash : ((Collision<?, ?>) node).hash;
+    }
+
+    /**
+     * A version of the map: the root of its trie and the number of its entries, published together.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    private static final class Version<K, V> {
+        private final Branch<K, V> root;
+        private final int size;
+
+        /**
+         * Constructs a new version.
+         *
+         * @param root the root of the trie
+         * @param size the number of entries in the trie
+         */
+        Version(Branch<K, V> root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+    }
+
+    /**
+     * An immutable key-value mapping at the end of a path of the trie.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    private static final class Leaf<K, V> {
+        private final K key;
+        private final int hash;
+        private final V value;
+
+        /**
+         * Constructs a new leaf.
+         *
+         * @param key   the key
+         * @param hash  the hash code of the key
+         * @param value the value
+         */
+        Leaf(K key, int hash, V value) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+        }
+    }
+
+    /**
+     * An immutable inner node of the trie. Bit i of the bitmap is set if the node has a child for the five
+     * hash code bits i; the children are stored in the order of their bits, so the index of a child is the
+     * number of bits set below its own.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    private static final class Branch<K, V> {
+        private static final Branch<?, ?> EMPTY = new Branch<>(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] children;
+
+        /**
+         * Constructs a new branch.
+         *
+         * @param bitmap   the bits of the children
+         * @param children the children, each a branch, a leaf or a collision node
+         */
+        Branch(int bitmap, Object[] children) {
+            this.bitmap = bitmap;
+            this.children = children;
+        }
+
+        /**
+         * Returns the branch without children.
+         *
+         * @param <K> the type of the keys
+         * @param <V> the type of the values
+         * @return the empty branch
+         */
+        static <K, V> Branch<K, V> empty() {
+            //noinspection unchecked
+            return (Branch<K, V>) EMPTY;
+        }
+
+        /**
+         * Returns a branch with a single child.
+         *
+         * @param hash  a hash code of the keys below the child
+         * @param shift the number of hash code bits consumed above the branch
+         * @param child the child
+         * @param <K>   the type of the keys
+         * @param <V>   the type of the values
+         * @return the new branch
+         */
+        static <K, V> Branch<K, V> of(int hash, int shift, Object child) {
+            return new Branch<>(1 << ((hash >>> shift) & MASK), new Object[]{child});
+        }
+
+        /**
+         * Returns a copy of this branch with a child inserted.
+         *
+         * @param bit   the bit of the child
+         * @param index the index of the child
+         * @param child the child
+         * @return the updated copy
+         */
+        Branch<K, V> insert(int bit, int index, Object child) {
+            Object[] copy = new Object[children.length + 1];
+            System.arraycopy(children, 0, copy, 0, index);
+            copy[index] = child;
+            System.arraycopy(children, index, copy, index + 1, children.length - index);
+            return new Branch<>(bitmap | bit, copy);
+        }
+
+        /**
+         * Returns a copy of this branch with a child replaced.
+         *
+         * @param index the index of the child
+         * @param child the new child
+         * @return the updated copy
+         */
+        Branch<K, V> replace(int index, Object child) {
+            Object[] copy = children.clone();
+            copy[index] = child;
+            return new Branch<>(bitmap, copy);
+        }
+
+        /**
+         * Returns a copy of this branch with a child deleted.
+         *
+         * @param bit   the bit of the child
+         * @param index the index of the child
+         * @return the updated copy
+         */
+        Branch<K, V> delete(int bit, int index) {
+            Object[] copy = new Object[children.length - 1];
+            System.arraycopy(children, 0, copy, 0, index);
+            System.arraycopy(children, index + 1, copy, index, copy.length - index);
+            return new Branch<>(bitmap & ~bit, copy);
+        }
+    }
+
+    /**
+     * An immutable node holding the leaves of keys whose full hash codes are equal.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    private static final class Collision<K, V> {
+        private final int hash;
+        private final Leaf<K, V>[] leaves;
+
+        /**
+         * Constructs a new collision node.
+         *
+         * @param hash   the hash code of all the keys
+         * @param leaves the leaves, at least two
+         */
+        Collision(int hash, Leaf<K, V>[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+
+        /**
+         * Finds the leaf of a key.
+         *
+         * @param key the key to find
+         * @return the leaf of the key, or null if the node has no mapping for it
+         */
+        Leaf<K, V> find(K key) {
+            for (Leaf<K, V> leaf : leaves) {
+                if (leaf.key.equals(key)) {
+                    return leaf;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns a copy of this node with the leaf put into it, replacing the leaf of an equal key.
+         *
+         * @param leaf the leaf to put
+         * @return the updated copy
+         */
+        Collision<K, V> put(Leaf<K, V> leaf) {
+            for (int i = 0; i < leaves.length; i++) {
+                if (leaves[i].key.equals(leaf.key)) {
+                    Leaf<K, V>[] copy = leaves.clone();
+                    copy[i] = leaf;
+                    return new Collision<>(hash, copy);
+                }
+            }
+            Leaf<K, V>[] copy = Arrays.copyOf(leaves, leaves.length + 1);
+            copy[leaves.length] = leaf;
+            return new Collision<>(hash, copy);
+        }
+
+        /**
+         * Returns the node that replaces this one once the mapping for a key present in it is removed.
+         *
+         * @param key the key to remove
+         * @return the updated copy, or the only remaining leaf
+         */
+        Object remove(K key) {
+            if (leaves.length == 2) {
+                return leaves[0].key.equals(key) ? leaves[1] : leaves[0];
+            }
+            //noinspection unchecked
+            Leaf<K, V>[] copy = new Leaf[leaves.length - 1];
+            int j = 0;
+            for (Leaf<K, V> leaf : leaves) {
+                if (!leaf.key.equals(key)) {
+                    copy[j++] = leaf;
+                }
+            }
+            return new Collision<>(hash, copy);
+        }
+    }
+
+    /**
+     * A cursor that walks the trie of one version depth first, keeping the path from the root to the current
+     * node on a stack.
+     */
+    private class TrieCursor implements Cursor<K, V> {
+        private final Object[][] nodes = new Object[MAX_DEPTH][];
+        private final int[] indices = new int[MAX_DEPTH];
+        private int depth;
+        private K key;
+        private V value;
+
+        /**
+         * Constructs a new cursor positioned before the first entry.
+         */
+        TrieCursor() {
+            reset();
+        }
+
+        @Override
+        public boolean next() {
+            while (depth >= 0) {
+                if (indices[depth] == nodes[depth].length) {
+                    depth--;
+                    continue;
+                }
+                Object child = nodes[depth][indices[depth]++];
+                if (child instanceof Branch<?, ?> branch) {
+                    nodes[++depth] = branch.children;
+                    indices[depth] = 0;
+                } else if (child instanceof Collision<?, ?> collision) {
+                    nodes[++depth] = collision.leaves;
+                    indices[depth] = 0;
+                } else {
+                    //noinspection unchecked
+                    Leaf<K, V> leaf = (Leaf<K, V>) child;
+                    key = leaf.key;
+                    value = leaf.value;
+                    return true;
+                }
+            }
+            key = null;
+            value = null;
+            return false;
+        }
+
+        @Override
+        public K key() {
+            return key;
+        }
+
+        @Override
+        public V value() {
+            return value;
+        }
+
+        @Override
+        public void reset() {
+            nodes[0] = version.root.children;
+            indices[0] = 0;
+            depth = 0;
+            key = null;
+            value = null;
+        }
+    }
+}
@@ -0,0 +1,482 @@
+package dataStructure.hashMap;
+
+/**
+ * A red-black tree holding the entries of a single hash map bucket. All operations are iterative, so the depth
+ * of the tree is bounded by 2 log(n + 1) and no operation can overflow the stack, even when keys are inserted
+ * in sorted order.
+ *
+ * <p>Entries are ordered by the hash of their key first, which is cached in each node, and by the natural
+ * ordering of the key only among equal hashes. Most comparisons are therefore a single int comparison, but keys
+ * must still implement {@link Comparable}.</p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+class RedBlackTree<K, V> {
+    private static final boolean RED = true;
+    private static final boolean BLACK = false;
+
+    private TreeNode<K, V> root;
+    private int size;
+    private int searchLength;
+
+    /**
+     * Returns the number of entries in this tree.
+     *
+     * @return the number of entries in this tree
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the node holding the specified key.
+     *
+     * @param hash the hash of the key
+     * @param key  the key to search for
+     * @return the node holding the key, or null if the key is not in the tree
+     */
+    TreeNode<K, V> find(int hash, K key) {
+        TreeNode<K, V> node = root;
+        int length = 0;
+        while (node != null) {
+            length++;
+            int cmp = compare(hash, key, node);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                node = node.right;
+            } else {
+                break;
+            }
+        }
+        searchLength = length;
+        return node;
+    }
+
+    /**
+     * Returns the number of nodes the most recent call to {@link #find(int, Object)} compared the key with.
+     *
+     * @return the length of the most recent search path
+     */
+    int searchLength() {
+        return searchLength;
+    }
+
+    /**
+     * Returns the number of nodes on the longest path from the root down to a leaf.
+     *
+     * @return the height of the tree, or 0 if the tree is empty
+     */
+    int height() {
+        int height = 0;
+        for (TreeNode<K, V> node = first(); node != null; node = successor(node)) {
+            if (node.left == null && node.right == null) {
+                int depth = 1;
+                for (TreeNode<K, V> parent = node.parent; parent != null; parent = parent.parent) {
+                    depth++;
+                }
+                height = Math.max(height, depth);
+            }
+        }
+        return height;
+    }
+
+    /**
+     * Inserts the key-value pair into the tree, or updates the value if the key is already present.
+     *
+     * @param hash  the hash of the key
+     * @param key   the key to insert or update
+     * @param value the value to associate with the key
+     * @return true if a new entry was added, false if an existing value was replaced
+     */
+    boolean put(int hash, K key, V value) {
+        if (root == null) {
+            root = new TreeNode<>(key, hash, value, null);
+            root.red = BLACK;
+            size = 1;
+            return true;
+        }
+        TreeNode<K, V> parent;
+        TreeNode<K, V> node = root;
+        int cmp;
+        do {
+            parent = node;
+            cmp = compare(hash, key, node);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                node = node.right;
+            } else {
+                node.value = value;
+                return false;
+            }
+        } while (node != null);
+        TreeNode<K, V> inserted = new TreeNode<>(key, hash, value, parent);
+        if (cmp < 0) {
+            parent.left = inserted;
+        } else {
+            parent.right = inserted;
+        }
+        fixAfterInsertion(inserted);
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes the entry with the specified key from the tree if it is present.
+     *
+     * @param hash the hash of the key
+     * @param key  the key whose entry is to be removed
+     * @return true if an entry was removed
+     */
+    boolean remove(int hash, K key) {
+        TreeNode<K, V> node = find(hash, key);
+        if (node == null) {
+            return false;
+        }
+        delete(node);
+        return true;
+    }
+
+    /**
+     * Returns the first node of the tree, the one with the smallest hash and, among those, the smallest key.
+     *
+     * @return the first node in tree order, or null if the tree is empty
+     */
+    TreeNode<K, V> first() {
+        TreeNode<K, V> node = root;
+        if (node != null) {
+            while (node.left != null) {
+                node = node.left;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Returns the node following the given node in tree order.
+     *
+     * @param node the current node
+     * @return the next node, or null if the given node is the last one
+     */
+    static <K, V> TreeNode<K, V> successor(TreeNode<K, V> node) {
+        if (node.right != null) {
+            TreeNode<K, V> next = node.right;
+            while (next.left != null) {
+                next = next.left;
+            }
+            return next;
+        }
+        TreeNode<K, V> child = node;
+        TreeNode<K, V> parent = node.parent;
+        while (parent != null && child == parent.right) {
+            child = parent;
+            parent = parent.parent;
+        }
+        return parent;
+    }
+
+    /**
+     * Compares a key with the key of a node, by hash first and by natural ordering among equal hashes.
+     *
+     * @param hash the hash of the key
+     * @param key  the key
+     * @param node the node to compare against
+     * @return a negative integer, zero, or a positive integer as the key is ordered before, equal to,
+     * or after the key of the node
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(int hash, K key, TreeNode<K, V> node) {
+        if (hash != node.hash) {
+            return Integer.compare(hash, node.hash);
+        }
+        return ((Comparable<? super K>) key).compareTo(node.key);
+    }
+
+    /**
+     * Unlinks the given node and restores the red-black properties. The node object itself may be reused to
+     * hold its successor's entry, so references to nodes of this tree should not be kept across a deletion.
+     *
+     * @param node the node to delete
+     */
+    void delete(TreeNode<K, V> node) {
+        size--;
+        // A node with two children takes over its successor's entry, and the successor is unlinked instead.
+        if (node.left != null && node.right != null) {
+            TreeNode<K, V> next = successor(node);
+            node.key = next.key;
+            node.hash = next.hash;
+            node.value = next.value;
+            node = next;
+        }
+        TreeNode<K, V> replacement = node.left != null ? node.left : node.right;
+        if (replacement != null) {
+            replacement.parent = node.parent;
+            if (node.parent == null) {
+                root = replacement;
+            } else if (node == node.parent.left) {
+                node.parent.left = replacement;
+            } else {
+                node.parent.right = replacement;
+            }
+            node.left = node.right = node.parent = null;
+            if (node.red == BLACK) {
+                fixAfterDeletion(replacement);
+            }
+        } else if (node.parent == null) {
+            root = null;
+        } else {
+            // A leaf is used as its own phantom replacement while the tree is rebalanced.
+            if (node.red == BLACK) {
+                fixAfterDeletion(node);
+            }
+            if (node.parent != null) {
+                if (node == node.parent.left) {
+                    node.parent.left = null;
+                } else if (node == node.parent.right) {
+                    node.parent.right = null;
+                }
+                node.parent = null;
+            }
+        }
+    }
+
+    /**
+     * Restores the red-black properties after inserting the given red node.
+     *
+     * @param node the inserted node
+     */
+    private void fixAfterInsertion(TreeNode<K, V> node) {
+        while (node != root && colorOf(parentOf(node)) == RED) {
+            TreeNode<K, V> parent = parentOf(node);
+            TreeNode<K, V> grandparent = parentOf(parent);
+            if (parent == leftOf(grandparent)) {
+                TreeNode<K, V> uncle = rightOf(grandparent);
+                if (colorOf(uncle) == RED) {
+                    setColor(parent, BLACK);
+                    setColor(uncle, BLACK);
+                    setColor(grandparent, RED);
+                    node = grandparent;
+                } else {
+                    if (node == rightOf(parent)) {
+                        node = parent;
+                        rotateLeft(node);
+                    }
+                    setColor(parentOf(node), BLACK);
+                    setColor(parentOf(parentOf(node)), RED);
+                    rotateRight(parentOf(parentOf(node)));
+                }
+            } else {
+                TreeNode<K, V> uncle = leftOf(grandparent);
+                if (colorOf(uncle) == RED) {
+                    setColor(parent, BLACK);
+                    setColor(uncle, BLACK);
+                    setColor(grandparent, RED);
+                    node = grandparent;
+                } else {
+                    if (node == leftOf(parent)) {
+                        node = parent;
+                        rotateRight(node);
+                    }
+                    setColor(parentOf(node), BLACK);
+                    setColor(parentOf(parentOf(node)), RED);
+                    rotateLeft(parentOf(parentOf(node)));
+                }
+            }
+        }
+        root.red = BLACK;
+    }
+
+    /**
+     * Restores the red-black properties after removing a black node that was replaced by the given node.
+     *
+     * @param node the node that took the place of the removed node
+     */
+    private void fixAfterDeletion(TreeNode<K, V> node) {
+        while (node != root && colorOf(node) == BLACK) {
+            if (node == leftOf(parentOf(node))) {
+                TreeNode<K, V> sibling = rightOf(parentOf(node));
+                if (colorOf(sibling) == RED) {
+                    setColor(sibling, BLACK);
+                    setColor(parentOf(node), RED);
+                    rotateLeft(parentOf(node));
+                    sibling = rightOf(parentOf(node));
+                }
+                if (colorOf(leftOf(sibling)) == BLACK && colorOf(rightOf(sibling)) == BLACK) {
+                    setColor(sibling, RED);
+                    node = parentOf(node);
+                } else {
+                    if (colorOf(rightOf(sibling)) == BLACK) {
+                        setColor(leftOf(sibling), BLACK);
+                        setColor(sibling, RED);
+                        rotateRight(sibling);
+                        sibling = rightOf(parentOf(node));
+                    }
+                    setColor(sibling, colorOf(parentOf(node)));
+                    setColor(parentOf(node), BLACK);
+                    setColor(rightOf(sibling), BLACK);
+                    rotateLeft(parentOf(node));
+                    node = root;
+                }
+            } else {
+                TreeNode<K, V> sibling = leftOf(parentOf(node));
+                if (colorOf(sibling) == RED) {
+                    setColor(sibling, BLACK);
+                    setColor(parentOf(node), RED);
+                    rotateRight(parentOf(node));
+                    sibling = leftOf(parentOf(node));
+                }
+                if (colorOf(rightOf(sibling)) == BLACK && colorOf(leftOf(sibling)) == BLACK) {
+                    setColor(sibling, RED);
+                    node = parentOf(node);
+                } else {
+                    if (colorOf(leftOf(sibling)) == BLACK) {
+                        setColor(rightOf(sibling), BLACK);
+                        setColor(sibling, RED);
+                        rotateLeft(sibling);
+                        sibling = leftOf(parentOf(node));
+                    }
+                    setColor(sibling, colorOf(parentOf(node)));
+                    setColor(parentOf(node), BLACK);
+                    setColor(leftOf(sibling), BLACK);
+                    rotateRight(parentOf(node));
+                    node = root;
+                }
+            }
+        }
+        setColor(node, BLACK);
+    }
+
+    /**
+     * Rotates the subtree rooted at the given node to the left.
+     *
+     * @param node the root of the subtree
+     */
+    private void rotateLeft(TreeNode<K, V> node) {
+        if (node == null) {
+            return;
+        }
+        TreeNode<K, V> right = node.right;
+        node.right = right.left;
+        if (right.left != null) {
+            right.left.parent = node;
+        }
+        right.parent = node.parent;
+        if (node.parent == null) {
+            root = right;
+        } else if (node.parent.left == node) {
+            node.parent.left = right;
+        } else {
+            node.parent.right = right;
+        }
+        right.left = node;
+        node.parent = right;
+    }
+
+    /**
+     * Rotates the subtree rooted at the given node to the right.
+     *
+     * @param node the root of the subtree
+     */
+    private void rotateRight(TreeNode<K, V> node) {
+        if (node == null) {
+            return;
+        }
+        TreeNode<K, V> left = node.left;
+        node.left = left.right;
+        if (left.right != null) {
+            left.right.parent = node;
+        }
+        left.parent = node.parent;
+        if (node.parent == null) {
+            root = left;
+        } else if (node.parent.right == node) {
+            node.parent.right = left;
+        } else {
+            node.parent.left = left;
+        }
+        left.right = node;
+        node.parent = left;
+    }
+
+    private static <K, V> boolean colorOf(TreeNode<K, V> node) {
+        return node == null ? BLACK : node.red;
+    }
+
+    private static <K, V> TreeNode<K, V> parentOf(TreeNode<K, V> node) {
+        return node == null ? null : node.parent;
+    }
+
+    private static <K, V> void setColor(TreeNode<K, V> node, boolean color) {
+        if (node != null) {
+            node.red = color;
+        }
+    }
+
+    private static <K, V> TreeNode<K, V> leftOf(TreeNode<K, V> node) {
+        return node == null ? null : node.left;
+    }
+
+    private static <K, V> TreeNode<K, V> rightOf(TreeNode<K, V> node) {
+        return node == null ? null : node.right;
+    }
+
+    /**
+     * A class representing a node in a red-black tree.
+     *
+     * @param <K> the type of the key stored in the node
+     * @param <V> the type of the value stored in the node
+     */
+    static class TreeNode<K, V> {
+        /**
+         * The key stored in the node.
+         */
+        K key;
+
+        /**
+         * The hash of the key, computed once when the entry is stored.
+         */
+        int hash;
+
+        /**
+         * The value stored in the node.
+         */
+        V value;
+
+        /**
+         * The left child of the node.
+         */
+        TreeNode<K, V> left;
+
+        /**
+         * The right child of the node.
+         */
+        TreeNode<K, V> right;
+
+        /**
+         * The parent of the node, or null for the root.
+         */
+        TreeNode<K, V> parent;
+
+        /**
+         * The color of the node; new nodes start out red.
+         */
+        boolean red = RED;
+
+        /**
+         * Constructs a new node with the specified key, hash, value and parent.
+         *
+         * @param key    the key to be stored in the node
+         * @param hash   the hash of the key
+         * @param value  the value to be stored in the node
+         * @param parent the parent of the node
+         */
+        TreeNode(K key, int hash, V value, TreeNode<K, V> parent) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.parent = parent;
+        }
+    }
+}
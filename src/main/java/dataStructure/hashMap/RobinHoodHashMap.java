@@ -0,0 +1,445 @@
+package dataStructure.hashMap;
+
+import dataStructure.hashMap.hashFunction.HashFunction;
+import dataStructure.hashMap.hashFunction.Modulus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * A hash map implementation that uses open addressing with Robin Hood displacement to handle collisions.
+ * Keys, values and probe distances are kept in flat parallel arrays, so no node is allocated per entry and
+ * a lookup touches consecutive slots instead of following pointers. Deletion uses backward shifting, so the
+ * table never contains tombstones.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class RobinHoodHashMap<K, V> implements HashMap<K, V> {
+    /**
+     * Default capacity of the hash table.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Default load factor of the hash table.
+     */
+    public static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * Default resizable property of the hash table.
+     */
+    public static final boolean DEFAULT_RESIZABLE = true;
+    private final float loadFactor;
+    private int capacity;
+    private int size;
+    private final boolean resizable;
+
+    private K[] keys;
+    private V[] values;
+    private int[] distances;
+    private final HashFunction<K> hashFunction;
+
+    /**
+     * Constructs a new hash map with the specified initial capacity, resizable property, load factor and hash function.
+     *
+     * @param initialCapacity the initial capacity of the hash table
+     * @param resizable       whether the hash table is resizable
+     * @param loadFactor      the load factor of the hash table
+     * @param hashFunction    the hash function used to find the home slot of a key
+     * @throws IllegalArgumentException if the initial capacity is negative or the load factor is non-positive or NaN
+     */
+    public RobinHoodHashMap(int initialCapacity, boolean resizable, float loadFactor, HashFunction<K> hashFunction) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal initial capacity: " +
+                    initialCapacity);
+        if (loadFactor <= 0 || Float.isNaN(loadFactor))
+            throw new IllegalArgumentException("Illegal load factor: " +
+                    loadFactor);
+        this.loadFactor = loadFactor;
+        this.capacity = initialCapacity;
+        this.resizable = resizable;
+        this.hashFunction = hashFunction;
+        allocate(initialCapacity);
+    }
+
+    /**
+     * Constructs a new hash map with the specified capacity, resizable property and load factor.
+     *
+     * @param capacity   the capacity of the hash table
+     * @param resizable  whether or not the hash table is resizable
+     * @param loadFactor the load factor of the hash table
+     * @throws IllegalArgumentException if the load factor is non-positive or NaN
+     */
+    public RobinHoodHashMap(int capacity, boolean resizable, float loadFactor) {
+        this(capacity, resizable, loadFactor, new Modulus<>());
+    }
+
+    /**
+     * Constructs a new hash map with the specified capacity and resizable property.
+     *
+     * @param capacity  the capacity of the hash table
+     * @param resizable whether the hash table is resizable
+     */
+    public RobinHoodHashMap(int capacity, boolean resizable) {
+        this(capacity, resizable, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a new hash map with the specified initial capacity.
+     *
+     * @param initialCapacity the initial capacity of the hash table
+     */
+    public RobinHoodHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_RESIZABLE);
+    }
+
+    /**
+     * Constructs a new hash map with the default capacity.
+     */
+    public RobinHoodHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the specified key.
+     *
+     * @param key the key whose presence in this map is to be tested
+     * @return true if this map contains a mapping for the specified key, false otherwise
+     */
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map. Starting at the home slot of the key,
+     * the new entry takes over the slot of any resident that is closer to its own home slot, and the displaced
+     * resident continues probing in its place.
+     *
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @throws IllegalStateException if the key is new and the hash table is full and not resizable
+     */
+    public void put(K key, V value) {
+        int index = hash(key);
+        int distance = 0;
+        // Stop at the first empty slot or at a resident closer to its home slot: the key cannot be further along.
+        while (keys[index] != null && distances[index] >= distance) {
+            if (keys[index].equals(key)) {
+                values[index] = value;
+                return;
+            }
+            index = next(index);
+            distance++;
+        }
+        if (size == capacity) {
+            if (!resizable) {
+                throw new IllegalStateException("Hash table is full");
+            }
+            resize();
+            index = hash(key);
+            distance = 0;
+            while (keys[index] != null && distances[index] >= distance) {
+                index = next(index);
+                distance++;
+            }
+        }
+        place(key, value, index, distance);
+        size++;
+        resizeIfNeeded();
+    }
+
+    /**
+     * Returns the value associated with the specified key in this hash table. The probe stops as soon as it
+     * reaches a slot whose resident is closer to its home slot than the key would be.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value associated with the specified key, or {@code null} if this map contains no mapping for the key
+     */
+    public V get(K key) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    /**
+     * Removes the mapping for a key from this hash table if it is present. The entries following the removed one
+     * are shifted back by one slot until an empty slot or an entry sitting in its home slot is reached.
+     *
+     * @param key the key whose mapping is to be removed from the map
+     */
+    public void remove(K key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return;
+        }
+        int next = next(index);
+        while (keys[next] != null && distances[next] > 0) {
+            keys[index] = keys[next];
+            values[index] = values[next];
+            distances[index] = distances[next] - 1;
+            index = next;
+            next = next(next);
+        }
+        keys[index] = null;
+        values[index] = null;
+        distances[index] = 0;
+        size--;
+    }
+
+    /**
+     * This method returns a List of all the keys present in the hash table.
+     *
+     * @return a List of type K containing all the keys present in the hash table.
+     */
+    public List<K> keys() {
+        List<K> keysList = new ArrayList<>(size);
+        for (int i = 0; i < capacity; i++) {
+            if (keys[i] != null) {
+                keysList.add(keys[i]);
+            }
+        }
+        return keysList;
+    }
+
+    /**
+     * This method returns a List of all the values present in the hash table.
+     *
+     * @return a List of type V containing all the values present in the hash table.
+     */
+    public List<V> values() {
+        List<V> valuesList = new ArrayList<>(size);
+        for (int i = 0; i < capacity; i++) {
+            if (keys[i] != null) {
+                valuesList.add(values[i]);
+            }
+        }
+        return valuesList;
+    }
+
+    /**
+     * This method returns a List of all the entries present in the hash table.
+     *
+     * @return a List of type Generic class called Entry has K Key, V Value containing all the entries present
+     * in the hash table.
+     */
+    public List<Entry<K, V>> entries() {
+        List<Entry<K, V>> entriesList = new ArrayList<>(size);
+        for (int i = 0; i < capacity; i++) {
+            if (keys[i] != null) {
+                entriesList.add(new Entry<>(keys[i], values[i]));
+            }
+        }
+        return entriesList;
+    }
+
+    /**
+     * Performs the given action for each entry, reading the keys and values straight from the slots.
+     *
+     * @param action the action to be performed for each entry
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < capacity; i++) {
+            if (keys[i] != null) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns a cursor that walks the slots of the table in place.
+     *
+     * @return a cursor positioned before the first entry of this map
+     */
+    @Override
+    public Cursor<K, V> cursor() {
+        return new SlotCursor();
+    }
+
+    /**
+     * Returns the slot holding the specified key.
+     *
+     * @param key the key to search for
+     * @return the slot holding the key, or -1 if the key is not present
+     */
+    private int indexOf(K key) {
+        if (size == 0) {
+            return -1;
+        }
+        int index = hash(key);
+        for (int distance = 0; keys[index] != null && distances[index] >= distance; distance++) {
+            if (keys[index].equals(key)) {
+                return index;
+            }
+            index = next(index);
+        }
+        return -1;
+    }
+
+    /**
+     * Stores an entry that is known to be absent from the table, starting at the given slot and probe distance.
+     * Whenever the carried entry is further from its home slot than the resident of the current slot, the two
+     * are swapped and the resident is carried on instead.
+     *
+     * @param key      the key to store
+     * @param value    the value to store
+     * @param index    the slot to start at
+     * @param distance the probe distance of the key at that slot
+     */
+    private void place(K key, V value, int index, int distance) {
+        while (keys[index] != null) {
+            if (distances[index] < distance) {
+                K displacedKey = keys[index];
+                V displacedValue = values[index];
+                int displacedDistance = distances[index];
+                keys[index] = key;
+                values[index] = value;
+                distances[index] = distance;
+                key = displacedKey;
+                value = displacedValue;
+                distance = displacedDistance;
+            }
+            index = next(index);
+            distance++;
+        }
+        keys[index] = key;
+        values[index] = value;
+        distances[index] = distance;
+    }
+
+    /**
+     * Grows the hash table in one go so that it can hold the given number of entries below the load factor.
+     * A hash table that is not resizable keeps its capacity.
+     *
+     * @param expectedSize the number of entries the map should be able to hold
+     */
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        int target = (int) (expectedSize / loadFactor) + 1;
+        if (resizable && target > capacity) {
+            resize(target);
+        }
+    }
+
+    /**
+     * Resizes the hash table if the load factor has been reached.
+     */
+    private void resizeIfNeeded() {
+        if (resizable && (float) size / capacity >= loadFactor) {
+            resize();
+        }
+    }
+
+    /**
+     * Resizes the hash table by creating new arrays with double the capacity and
+     * placing all the entries from the old arrays into the new ones.
+     */
+    private void resize() {
+        resize(Math.max(capacity * 2, 1));
+    }
+
+    /**
+     * Resizes the hash table to the given capacity, placing all the entries from the old arrays into the new ones.
+     *
+     * @param newCapacity the capacity of the new arrays
+     */
+    private void resize(int newCapacity) {
+        K[] oldKeys = keys;
+        V[] oldValues = values;
+        int oldCapacity = capacity;
+        capacity = newCapacity;
+        allocate(capacity);
+        for (int i = 0; i < oldCapacity; i++) {
+            if (oldKeys[i] != null) {
+                place(oldKeys[i], oldValues[i], hash(oldKeys[i]), 0);
+            }
+        }
+    }
+
+    /**
+     * Allocates empty key, value and probe distance arrays of the given capacity.
+     *
+     * @param capacity the number of slots to allocate
+     */
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        keys = (K[]) new Object[capacity];
+        values = (V[]) new Object[capacity];
+        distances = new int[capacity];
+    }
+
+    /**
+     * Returns the slot following the given one, wrapping around at the end of the table.
+     *
+     * @param index the current slot
+     * @return the next slot
+     */
+    private int next(int index) {
+        return index + 1 == capacity ? 0 : index + 1;
+    }
+
+    /**
+     * This method calculates the home slot for a given key using the hash function.
+     *
+     * @param key the key for which the home slot needs to be calculated
+     * @return an integer value representing the home slot for the given key.
+     */
+    private int hash(K key) {
+        return this.hashFunction.hash(key, capacity);
+    }
+
+    /**
+     * A cursor that walks the slots of the table in place. The table is read when the cursor is reset, so a
+     * reset also picks up a resize that happened in between.
+     */
+    private class SlotCursor implements Cursor<K, V> {
+        private K[] slotKeys;
+        private V[] slotValues;
+        private int slot;
+
+        /**
+         * Constructs a new cursor positioned before the first entry.
+         */
+        SlotCursor() {
+            reset();
+        }
+
+        @Override
+        public boolean next() {
+            while (++slot < slotKeys.length) {
+                if (slotKeys[slot] != null) {
+                    return true;
+                }
+            }
+            slot = slotKeys.length;
+            return false;
+        }
+
+        @Override
+        public K key() {
+            return slot >= 0 && slot < slotKeys.length ? slotKeys[slot] : null;
+        }
+
+        @Override
+        public V value() {
+            return slot >= 0 && slot < slotKeys.length ? slotValues[slot] : null;
+        }
+
+        @Override
+        public void reset() {
+            slotKeys = keys;
+            slotValues = values;
+            slot = -1;
+        }
+    }
+}
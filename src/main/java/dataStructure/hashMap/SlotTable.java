@@ -0,0 +1,310 @@
+package dataStructure.hashMap;
+
+import dataStructure.hashMap.codec.FixedWidthCodec;
+import dataStructure.hashMap.hashFunction.HashFunction;
+
+import java.nio.ByteBuffer;
+import java.util.function.BiConsumer;
+
+/**
+ * A power-of-two hash table of fixed-width slots in a {@link ByteBuffer}, shared by the hash maps that keep their
+ * entries outside the Java heap. Each slot holds the stored hash of the key followed by the key and the value
+ * encoded by a {@link FixedWidthCodec}. Collisions are resolved with linear probing, and removals shift the
+ * following entries back instead of leaving tombstones.
+ *
+ * <p>The table only probes and moves slots; the map that uses it owns the buffer, decides when to resize and
+ * keeps the size.</p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+class SlotTable<K, V> {
+    /**
+     * The bit set in the stored hash of every occupied slot, so that a stored hash of 0 marks an empty slot.
+     */
+    private static final int OCCUPIED = Integer.MIN_VALUE;
+    private final FixedWidthCodec<K> keyCodec;
+    private final FixedWidthCodec<V> valueCodec;
+    private final HashFunction<K> hashFunction;
+    private final int slotSize;
+    private ByteBuffer table;
+    private int capacity;
+
+    /**
+     * Constructs a new table without a buffer; {@link #setTable(ByteBuffer, int)} must be called before use.
+     *
+     * @param keyCodec     the codec used to store the keys
+     * @param valueCodec   the codec used to store the values
+     * @param hashFunction the hash function used to find the home slot of a key
+     * @throws IllegalArgumentException if the hash function has no full hash code
+     */
+    SlotTable(FixedWidthCodec<K> keyCodec, FixedWidthCodec<V> valueCodec, HashFunction<K> hashFunction) {
+        if (!hashFunction.hasFullHash())
+            throw new IllegalArgumentException("Illegal hash function: " +
+                    hashFunction);
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.hashFunction = hashFunction;
+        this.slotSize = Integer.BYTES + keyCodec.width() + valueCodec.width();
+    }
+
+    /**
+     * Returns the number of bytes of a slot.
+     *
+     * @return the size of a slot in bytes
+     */
+    int slotSize() {
+        return slotSize;
+    }
+
+    /**
+     * Returns the largest power-of-two capacity whose slots fit in one buffer.
+     *
+     * @return the maximum capacity
+     */
+    int maximumCapacity() {
+        return Integer.highestOneBit(Integer.MAX_VALUE / slotSize);
+    }
+
+    /**
+     * Returns the number of slots of the table.
+     *
+     * @return the capacity of the table
+     */
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Points the table at the given buffer, which holds the given number of slots.
+     *
+     * @param table    the buffer holding the slots
+     * @param capacity the power-of-two number of slots in the buffer
+     */
+    void setTable(ByteBuffer table, int capacity) {
+        this.table = table;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the hash stored for the given key: the full hash with the high bits folded into the low bits,
+     * which are the ones the mask looks at, and with the occupied bit set.
+     *
+     * @param key the key to hash
+     * @return the stored hash of the key, never 0
+     */
+    int hash(K key) {
+        int h = hashFunction.hash(key);
+        return (h ^ (h >>> 16)) | OCCUPIED;
+    }
+
+    /**
+     * Returns the slot holding the specified key. The stored hashes are compared first, so the key bytes are
+     * only looked at when the hashes match.
+     *
+     * @param key  the key to search for
+     * @param hash the stored hash of the key
+     * @return the slot holding the key, or -1 if the key is not present
+     */
+    int indexOf(K key, int hash) {
+        int index = hash & (capacity - 1);
+        int storedHash;
+        while ((storedHash = table.getInt(offset(index))) != 0) {
+            if (storedHash == hash && keyCodec.matches(table, keyOffset(index), key)) {
+                return index;
+            }
+            index = next(index);
+        }
+        return -1;
+    }
+
+    /**
+     * Stores a key that is not in the table yet in the first free slot from its home slot. The key and the
+     * value are written before the stored hash, which is what marks the slot as occupied. The table must have a
+     * free slot.
+     *
+     * @param key   the key to store
+     * @param hash  the stored hash of the key
+     * @param value the value to store
+     */
+    void insert(K key, int hash, V value) {
+        int index = hash & (capacity - 1);
+        while (table.getInt(offset(index)) != 0) {
+            index = next(index);
+        }
+        keyCodec.write(table, keyOffset(index), key);
+        valueCodec.write(table, valueOffset(index), value);
+        table.putInt(offset(index), hash);
+    }
+
+    /**
+     * Empties a slot. The entries following it in its probe sequence are moved back, so that every entry stays
+     * reachable from its home slot.
+     *
+     * @param index the occupied slot to empty
+     */
+    void delete(int index) {
+        int mask = capacity - 1;
+        int gap = index;
+        int next = next(gap);
+        int storedHash;
+        while ((storedHash = table.getInt(offset(next))) != 0) {
+            int home = storedHash & mask;
+            // The entry may fill the gap unless its home slot lies cyclically between the gap and itself.
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                table.put(offset(gap), table, offset(next), slotSize);
+                gap = next;
+            }
+            next = next(next);
+        }
+        table.putInt(offset(gap), 0);
+    }
+
+    /**
+     * Copies every occupied slot byte for byte to its home in the given empty buffer, which is found from the
+     * stored hash, so no key is decoded or hashed again. The table keeps pointing at its own buffer.
+     *
+     * @param newTable    the zeroed buffer to copy the slots to
+     * @param newCapacity the power-of-two number of slots in the new buffer
+     */
+    void copyTo(ByteBuffer newTable, int newCapacity) {
+        int mask = newCapacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            int storedHash = table.getInt(offset(i));
+            if (storedHash != 0) {
+                int index = storedHash & mask;
+                while (newTable.getInt(offset(index)) != 0) {
+                    index = (index + 1) & mask;
+                }
+                newTable.put(offset(index), table, offset(i), slotSize);
+            }
+        }
+    }
+
+    /**
+     * Decodes the value of an occupied slot.
+     *
+     * @param index the slot
+     * @return the value of the slot
+     */
+    V value(int index) {
+        return valueCodec.read(table, valueOffset(index));
+    }
+
+    /**
+     * Replaces the value of an occupied slot.
+     *
+     * @param index the slot
+     * @param value the new value
+     */
+    void setValue(int index, V value) {
+        valueCodec.write(table, valueOffset(index), value);
+    }
+
+    /**
+     * Performs the given action for each entry, decoding the keys and values from the occupied slots.
+     *
+     * @param action the action to be performed for each entry
+     */
+    void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < capacity; i++) {
+            if (table.getInt(offset(i)) != 0) {
+                action.accept(keyCodec.read(table, keyOffset(i)), valueCodec.read(table, valueOffset(i)));
+            }
+        }
+    }
+
+    /**
+     * Returns a cursor that walks the slots of the table in place and decodes the entry it is on on demand.
+     *
+     * @return a cursor positioned before the first entry of the table
+     */
+    Cursor<K, V> cursor() {
+        return new SlotCursor();
+    }
+
+    /**
+     * Returns the position of the stored hash of a slot within the buffer.
+     *
+     * @param index the slot
+     * @return the position of the first byte of the slot
+     */
+    private int offset(int index) {
+        return index * slotSize;
+    }
+
+    /**
+     * Returns the position of the key of a slot within the buffer.
+     *
+     * @param index the slot
+     * @return the position of the first byte of the key
+     */
+    private int keyOffset(int index) {
+        return index * slotSize + Integer.BYTES;
+    }
+
+    /**
+     * Returns the position of the value of a slot within the buffer.
+     *
+     * @param index the slot
+     * @return the position of the first byte of the value
+     */
+    private int valueOffset(int index) {
+        return index * slotSize + Integer.BYTES + keyCodec.width();
+    }
+
+    /**
+     * Returns the slot that follows the given one, wrapping around at the end of the table.
+     *
+     * @param index the current slot
+     * @return the next slot
+     */
+    private int next(int index) {
+        return (index + 1) & (capacity - 1);
+    }
+
+    /**
+     * A cursor that walks the slots of the table in place. The buffer is read when the cursor is reset, so a
+     * reset also picks up a resize that happened in between.
+     */
+    private class SlotCursor implements Cursor<K, V> {
+        private ByteBuffer slots;
+        private int slotCount;
+        private int slot;
+
+        /**
+         * Constructs a new cursor positioned before the first entry.
+         */
+        SlotCursor() {
+            reset();
+        }
+
+        @Override
+        public boolean next() {
+            while (++slot < slotCount) {
+                if (slots.getInt(offset(slot)) != 0) {
+                    return true;
+                }
+            }
+            slot = slotCount;
+            return false;
+        }
+
+        @Override
+        public K key() {
+            return slot >= 0 && slot < slotCount ? keyCodec.read(slots, keyOffset(slot)) : null;
+        }
+
+        @Override
+        public V value() {
+            return slot >= 0 && slot < slotCount ? valueCodec.read(slots, valueOffset(slot)) : null;
+        }
+
+        @Override
+        public void reset() {
+            slots = table;
+            slotCount = capacity;
+            slot = -1;
+        }
+    }
+}
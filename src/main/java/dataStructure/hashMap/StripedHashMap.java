@@ -0,0 +1,400 @@
+package dataStructure.hashMap;
+
+import dataStructure.hashMap.hashFunction.HashFunction;
+import dataStructure.hashMap.hashFunction.Modulus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe hash map implementation that splits its table into independently locked segments. Writers
+ * only lock the segment their key hashes to, so updates to different segments run in parallel, and readers
+ * take no lock at all: bucket heads are read from an {@link AtomicReferenceArray}, entries are immutable
+ * apart from their volatile value, and a removal copies the part of the chain in front of the removed entry
+ * instead of unlinking it in place.
+ *
+ * <p>{@link #size()}, {@link #keys()}, {@link #values()} and {@link #entries()} visit the segments one after
+ * another without locking them, so they reflect concurrent updates only partially.</p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class StripedHashMap<K, V> implements HashMap<K, V> {
+    /**
+     * Default capacity of the hash table.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Default load factor of each segment.
+     */
+    public static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * Default number of independently locked segments.
+     */
+    public static final int DEFAULT_STRIPES = 16;
+    private final Segment<K, V>[] segments;
+    private final int segmentBits;
+    private final HashFunction<K> hashFunction;
+
+    /**
+     * Constructs a new hash map with the specified initial capacity, load factor, number of segments and hash function.
+     *
+     * @param initialCapacity the initial capacity of the hash table, spread evenly over the segments
+     * @param loadFactor      the load factor of each segment
+     * @param stripes         the number of segments, rounded up to a power of two
+     * @param hashFunction    the hash function used to hash keys
+     * @throws IllegalArgumentException if the initial capacity is negative, the load factor is non-positive or NaN,
+     *                                  the number of segments is not positive, or the hash function has no full
+     *                                  hash code
+     */
+    public StripedHashMap(int initialCapacity, float loadFactor, int stripes, HashFunction<K> hashFunction) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal initial capacity: " +
+                    initialCapacity);
+        if (loadFactor <= 0 || Float.isNaN(loadFactor))
+            throw new IllegalArgumentException("Illegal load factor: " +
+                    loadFactor);
+        if (stripes <= 0 || stripes > 1 << 16)
+            throw new IllegalArgumentException("Illegal number of stripes: " +
+                    stripes);
+        if (!hashFunction.hasFullHash())
+            throw new IllegalArgumentException("Illegal hash function: " +
+                    hashFunction);
+        this.segmentBits = 32 - Integer.numberOfLeadingZeros(stripes - 1);
+        this.hashFunction = hashFunction;
+        int segmentCount = 1 << segmentBits;
+        int perSegment = (initialCapacity + segmentCount - 1) / segmentCount;
+        int segmentCapacity = perSegment <= 1 ? 1 : Integer.highestOneBit(perSegment - 1) << 1;
+        //noinspection unchecked
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(segmentCapacity, loadFactor, segmentBits);
+        }
+    }
+
+    /**
+     * Constructs a new hash map with the specified initial capacity and number of segments.
+     *
+     * @param initialCapacity the initial capacity of the hash table
+     * @param stripes         the number of segments, rounded up to a power of two
+     * @throws IllegalArgumentException if the initial capacity is negative or the number of segments is not positive
+     */
+    public StripedHashMap(int initialCapacity, int stripes) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR, stripes, new Modulus<>());
+    }
+
+    /**
+     * Constructs a new hash map with the specified initial capacity.
+     *
+     * @param initialCapacity the initial capacity of the hash table
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    public StripedHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Constructs a new hash map with the default capacity and number of segments.
+     */
+    public StripedHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.count;
+        }
+        return size;
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the specified key.
+     *
+     * @param key the key whose presence in this map is to be tested
+     * @return true if this map contains a mapping for the specified key, false otherwise
+     */
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map, holding the lock of the key's segment.
+     *
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     */
+    public void put(K key, V value) {
+        int hash = hash(key);
+        segmentFor(hash).put(key, hash, value);
+    }
+
+    /**
+     * Returns the value associated with the specified key in this hash table without taking any lock.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value associated with the specified key, or {@code null} if this map contains no mapping for the key
+     */
+    public V get(K key) {
+        int hash = hash(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    /**
+     * Removes the mapping for a key from this hash table if it is present, holding the lock of the key's segment.
+     *
+     * @param key the key whose mapping is to be removed from the map
+     */
+    public void remove(K key) {
+        int hash = hash(key);
+        segmentFor(hash).remove(key, hash);
+    }
+
+    /**
+     * This method returns a List of all the keys present in the hash table.
+     *
+     * @return a List of type K containing all the keys present in the hash table.
+     */
+    public List<K> keys() {
+        List<K> keys = new ArrayList<>();
+        for (Segment<K, V> segment : segments) {
+            AtomicReferenceArray<HashEntry<K, V>> table = segment.table;
+            for (int i = 0; i < table.length(); i++) {
+                for (HashEntry<K, V> entry = table.get(i); entry != null; entry = entry.next) {
+                    keys.add(entry.key);
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * This method returns a List of all the values present in the hash table.
+     *
+     * @return a List of type V containing all the values present in the hash table.
+     */
+    public List<V> values() {
+        List<V> values = new ArrayList<>();
+        for (Segment<K, V> segment : segments) {
+            AtomicReferenceArray<HashEntry<K, V>> table = segment.table;
+            for (int i = 0; i < table.length(); i++) {
+                for (HashEntry<K, V> entry = table.get(i); entry != null; entry = entry.next) {
+                    values.add(entry.value);
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * This method returns a List of all the entries present in the hash table.
+     *
+     * @return a List of type Generic class called Entry has K Key, V Value containing all the entries present
+     * in the hash table.
+     */
+    public List<Entry<K, V>> entries() {
+        List<Entry<K, V>> entries = new ArrayList<>();
+        for (Segment<K, V> segment : segments) {
+            AtomicReferenceArray<HashEntry<K, V>> table = segment.table;
+            for (int i = 0; i < table.length(); i++) {
+                for (HashEntry<K, V> entry = table.get(i); entry != null; entry = entry.next) {
+                    entries.add(new Entry<>(entry.key, entry.value));
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Returns the segment responsible for the given hash code. Segments are selected by the low bits of the
+     * hash code and buckets within a segment by the bits above them.
+     *
+     * @param hash the spread hash code of a key
+     * @return the segment holding the key
+     */
+    private Segment<K, V> segmentFor(int hash) {
+        return segments[hash & (segments.length - 1)];
+    }
+
+    /**
+     * Calculates the spread hash code of a key using the hash function.
+     *
+     * @param key the key for which the hash code needs to be calculated
+     * @return the hash code of the key with its high bits folded into its low bits
+     */
+    private int hash(K key) {
+        int h = this.hashFunction.hash(key);
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * An independently locked part of the hash table. Its table and count are only written while holding the
+     * lock, and are volatile so that lock-free readers see a consistent table.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    private static final class Segment<K, V> extends ReentrantLock {
+        private static final long serialVersionUID = 1L;
+        private final float loadFactor;
+        private final int shift;
+        private volatile AtomicReferenceArray<HashEntry<K, V>> table;
+        private volatile int count;
+        private int threshold;
+
+        /**
+         * Constructs a new segment with the given power-of-two capacity and load factor.
+         *
+         * @param capacity   the initial number of buckets in the segment
+         * @param loadFactor the load factor of the segment
+         * @param shift      the number of low hash bits used to select the segment
+         */
+        private Segment(int capacity, float loadFactor, int shift) {
+            this.loadFactor = loadFactor;
+            this.shift = shift;
+            this.table = new AtomicReferenceArray<>(capacity);
+            this.threshold = (int) (capacity * loadFactor);
+        }
+
+        /**
+         * Returns the bucket of the given hash code in the given table.
+         *
+         * @param hash  the spread hash code of a key
+         * @param table the table of this segment
+         * @return the index of the bucket holding the key
+         */
+        private int indexFor(int hash, AtomicReferenceArray<HashEntry<K, V>> table) {
+            return (hash >>> shift) & (table.length() - 1);
+        }
+
+        /**
+         * Returns the value associated with the key without locking.
+         *
+         * @param key  the key whose associated value is to be returned
+         * @param hash the spread hash code of the key
+         * @return the value associated with the key, or null if this segment contains no mapping for it
+         */
+        private V get(K key, int hash) {
+            AtomicReferenceArray<HashEntry<K, V>> table = this.table;
+            for (HashEntry<K, V> entry = table.get(indexFor(hash, table)); entry != null; entry = entry.next) {
+                if (entry.hash == hash && entry.key.equals(key)) {
+                    return entry.value;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Associates the value with the key while holding the lock of this segment.
+         *
+         * @param key   the key with which the value is to be associated
+         * @param hash  the spread hash code of the key
+         * @param value the value to be associated with the key
+         */
+        private void put(K key, int hash, V value) {
+            lock();
+            try {
+                AtomicReferenceArray<HashEntry<K, V>> table = this.table;
+                int index = indexFor(hash, table);
+                HashEntry<K, V> head = table.get(index);
+                for (HashEntry<K, V> entry = head; entry != null; entry = entry.next) {
+                    if (entry.hash == hash && entry.key.equals(key)) {
+                        entry.value = value;
+                        return;
+                    }
+                }
+                table.set(index, new HashEntry<>(key, hash, value, head));
+                if (++count > threshold) {
+                    rehash();
+                }
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Removes the mapping for the key while holding the lock of this segment.
+         *
+         * @param key  the key whose mapping is to be removed
+         * @param hash the spread hash code of the key
+         */
+        private void remove(K key, int hash) {
+            lock();
+            try {
+                AtomicReferenceArray<HashEntry<K, V>> table = this.table;
+                int index = indexFor(hash, table);
+                HashEntry<K, V> head = table.get(index);
+                HashEntry<K, V> found = head;
+                while (found != null && !(found.hash == hash && found.key.equals(key))) {
+                    found = found.next;
+                }
+                if (found == null) {
+                    return;
+                }
+                // Readers may be walking the chain, so the entries in front of the removed one are copied.
+                HashEntry<K, V> newHead = found.next;
+                for (HashEntry<K, V> entry = head; entry != found; entry = entry.next) {
+                    newHead = new HashEntry<>(entry.key, entry.hash, entry.value, newHead);
+                }
+                table.set(index, newHead);
+                count--;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Doubles the number of buckets in this segment. The new table is filled with copies of the entries
+         * and only then published, so readers keep using the old table until it is complete.
+         */
+        private void rehash() {
+            AtomicReferenceArray<HashEntry<K, V>> oldTable = this.table;
+            AtomicReferenceArray<HashEntry<K, V>> newTable = new AtomicReferenceArray<>(oldTable.length() * 2);
+            for (int i = 0; i < oldTable.length(); i++) {
+                for (HashEntry<K, V> entry = oldTable.get(i); entry != null; entry = entry.next) {
+                    int index = indexFor(entry.hash, newTable);
+                    newTable.set(index, new HashEntry<>(entry.key, entry.hash, entry.value, newTable.get(index)));
+                }
+            }
+            this.threshold = (int) (newTable.length() * loadFactor);
+            this.table = newTable;
+        }
+    }
+
+    /**
+     * An entry in a segment's chain. Only the value is mutable, so a chain can be walked without locking.
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    private static final class HashEntry<K, V> {
+        private final K key;
+        private final int hash;
+        private volatile V value;
+        private final HashEntry<K, V> next;
+
+        /**
+         * Constructs a new entry in front of the given chain.
+         *
+         * @param key   the key of the entry
+         * @param hash  the spread hash code of the key
+         * @param value the value of the entry
+         * @param next  the rest of the chain
+         */
+        private HashEntry(K key, int hash, V value, HashEntry<K, V> next) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.next = next;
+        }
+    }
+}
@@ -0,0 +1,461 @@
+package dataStructure.hashMap;
+
+import dataStructure.hashMap.hashFunction.HashFunction;
+import dataStructure.hashMap.hashFunction.Modulus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * A hash map implementation modeled on SwissTable. Next to the key and value arrays, the table keeps one
+ * control byte per slot: {@link #EMPTY}, {@link #DELETED}, or for an occupied slot the lowest 7 bits of the
+ * hash of its key. The control bytes of 8 consecutive slots form a group packed into one long, so a lookup
+ * compares the 7 hash bits with a whole group at once using bit tricks on the long, and only looks at the keys
+ * whose control byte matches. The remaining bits of the hash pick the first group, and the following groups
+ * are visited with triangular probing until a group with an empty slot is reached.
+ *
+ * <p>Since most probes are settled by the control bytes alone, the table stays fast at a load factor of
+ * 0.875, which makes it denser than the chained maps.</p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class SwissHashMap<K, V> implements HashMap<K, V> {
+    /**
+     * Default capacity of the hash table.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Default load factor of the hash table.
+     */
+    public static final float DEFAULT_LOAD_FACTOR = 0.875f;
+
+    /**
+     * Default resizable property of the hash table.
+     */
+    public static final boolean DEFAULT_RESIZABLE = true;
+
+    /**
+     * The control byte of a slot that has never held an entry since the last rehash.
+     */
+    public static final byte EMPTY = (byte) 0x80;
+
+    /**
+     * The control byte of a slot whose entry has been removed while its group had no empty slot.
+     */
+    public static final byte DELETED = (byte) 0xFE;
+    private static final int GROUP_WIDTH = 8;
+    private static final long LSBS = 0x0101010101010101L;
+    private static final long MSBS = 0x8080808080808080L;
+    private static final long EMPTY_GROUP = LSBS * (EMPTY & 0xFF);
+    private final float loadFactor;
+    private int capacity;
+    private int size;
+    private int growthLeft;
+    private final boolean resizable;
+
+    private long[] control;
+    private K[] keys;
+    private V[] values;
+    private final HashFunction<K> hashFunction;
+
+    /**
+     * Constructs a new hash map with the specified initial capacity, resizable property, load factor and hash function.
+     *
+     * @param initialCapacity the initial capacity of the hash table, rounded up to a power of two of at least 8
+     * @param resizable       whether the hash table is resizable
+     * @param loadFactor      the load factor of the hash table
+     * @param hashFunction    the hash function whose full hash is split into the group and the control byte
+     * @throws IllegalArgumentException if the initial capacity is negative, the load factor is not between
+     *                                  0 (exclusive) and 1 (exclusive), or the hash function has no full hash code
+     */
+    public SwissHashMap(int initialCapacity, boolean resizable, float loadFactor, HashFunction<K> hashFunction) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal initial capacity: " +
+                    initialCapacity);
+        if (loadFactor <= 0 || loadFactor >= 1 || Float.isNaN(loadFactor))
+            throw new IllegalArgumentException("Illegal load factor: " +
+                    loadFactor);
+        if (!hashFunction.hasFullHash())
+            throw new IllegalArgumentException("Illegal hash function: " +
+                    hashFunction);
+        this.loadFactor = loadFactor;
+        this.resizable = resizable;
+        this.hashFunction = hashFunction;
+        allocate(initialCapacity <= GROUP_WIDTH ? GROUP_WIDTH : Integer.highestOneBit(initialCapacity - 1) << 1);
+    }
+
+    /**
+     * Constructs a new hash map with the specified capacity, resizable property and load factor.
+     *
+     * @param capacity   the capacity of the hash table
+     * @param resizable  whether or not the hash table is resizable
+     * @param loadFactor the load factor of the hash table
+     */
+    public SwissHashMap(int capacity, boolean resizable, float loadFactor) {
+        this(capacity, resizable, loadFactor, new Modulus<>());
+    }
+
+    /**
+     * Constructs a new hash map with the specified capacity and resizable property.
+     *
+     * @param capacity  the capacity of the hash table
+     * @param resizable whether the hash table is resizable
+     */
+    public SwissHashMap(int capacity, boolean resizable) {
+        this(capacity, resizable, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a new hash map with the specified initial capacity.
+     *
+     * @param initialCapacity the initial capacity of the hash table
+     */
+    public SwissHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_RESIZABLE);
+    }
+
+    /**
+     * Constructs a new hash map with the default capacity.
+     */
+    public SwissHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the specified key.
+     *
+     * @param key the key whose presence in this map is to be tested
+     * @return true if this map contains a mapping for the specified key, false otherwise
+     */
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map. A new key takes the first empty or
+     * deleted slot of its probe sequence.
+     *
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @throws IllegalStateException if the table is full and cannot be resized
+     */
+    public void put(K key, V value) {
+        int hash = hash(key);
+        int index = indexOf(key, hash);
+        if (index >= 0) {
+            values[index] = value;
+            return;
+        }
+        index = findInsertSlot(hash);
+        if (growthLeft == 0 && getControl(index) == EMPTY) {
+            rehash();
+            index = findInsertSlot(hash);
+        }
+        if (getControl(index) == EMPTY) {
+            growthLeft--;
+        }
+        setControl(index, (byte) (hash & 0x7F));
+        keys[index] = key;
+        values[index] = value;
+        size++;
+    }
+
+    /**
+     * Returns the value associated with the specified key in this map.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value associated with the specified key, or null if this map contains no mapping for the key
+     */
+    public V get(K key) {
+        int index = indexOf(key, hash(key));
+        return index >= 0 ? values[index] : null;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present. If the group of the slot still has an empty
+     * slot, every probe that reaches the group stops there anyway, so the slot can become empty again;
+     * otherwise it is marked as deleted so that probes continue past it.
+     *
+     * @param key the key whose mapping is to be removed from the map
+     */
+    public void remove(K key) {
+        int index = indexOf(key, hash(key));
+        if (index < 0) {
+            return;
+        }
+        if (matchEmpty(control[index / GROUP_WIDTH]) != 0) {
+            setControl(index, EMPTY);
+            growthLeft++;
+        } else {
+            setControl(index, DELETED);
+        }
+        keys[index] = null;
+        values[index] = null;
+        size--;
+    }
+
+    /**
+     * This method returns a List of all the keys present in the hash table.
+     *
+     * @return a List of type K containing all the keys present in the hash table.
+     */
+    public List<K> keys() {
+        List<K> keysList = new ArrayList<>(size);
+        forEach((key, value) -> keysList.add(key));
+        return keysList;
+    }
+
+    /**
+     * This method returns a List of all the values present in the hash table.
+     *
+     * @return a List of type V containing all the values present in the hash table.
+     */
+    public List<V> values() {
+        List<V> valuesList = new ArrayList<>(size);
+        forEach((key, value) -> valuesList.add(value));
+        return valuesList;
+    }
+
+    /**
+     * This method returns a List of all the entries present in the hash table.
+     *
+     * @return a List of type Generic class called Entry has K Key, V Value containing all the entries present
+     * in the hash table.
+     */
+    public List<Entry<K, V>> entries() {
+        List<Entry<K, V>> entriesList = new ArrayList<>(size);
+        forEach((key, value) -> entriesList.add(new Entry<>(key, value)));
+        return entriesList;
+    }
+
+    /**
+     * Performs the given action for each entry, finding the occupied slots of each group from its control bytes.
+     *
+     * @param action the action to be performed for each entry
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int group = 0; group < control.length; group++) {
+            for (long full = matchFull(control[group]); full != 0; full &= full - 1) {
+                int index = group * GROUP_WIDTH + (Long.numberOfTrailingZeros(full) >>> 3);
+                action.accept(keys[index], values[index]);
+            }
+        }
+    }
+
+    /**
+     * Returns the slot holding the specified key, comparing the 7 hash bits with each group of the probe
+     * sequence and the keys only where they match.
+     *
+     * @param key  the key to search for
+     * @param hash the full hash of the key
+     * @return the slot holding the key, or -1 if the key is not present
+     */
+    private int indexOf(K key, int hash) {
+        int groupMask = control.length - 1;
+        int group = (hash >>> 7) & groupMask;
+        for (int step = 1; ; step++) {
+            long word = control[group];
+            for (long match = matchByte(word, hash & 0x7F); match != 0; match &= match - 1) {
+                int index = group * GROUP_WIDTH + (Long.numberOfTrailingZeros(match) >>> 3);
+                if (key.equals(keys[index])) {
+                    return index;
+                }
+            }
+            if (matchEmpty(word) != 0 || step > groupMask) {
+                return -1;
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    /**
+     * Returns the first empty or deleted slot of the probe sequence of the given hash.
+     *
+     * @param hash the full hash of the key to insert
+     * @return the slot where the key can be inserted
+     */
+    private int findInsertSlot(int hash) {
+        int groupMask = control.length - 1;
+        int group = (hash >>> 7) & groupMask;
+        for (int step = 1; ; step++) {
+            long free = matchEmptyOrDeleted(control[group]);
+            if (free != 0) {
+                return group * GROUP_WIDTH + (Long.numberOfTrailingZeros(free) >>> 3);
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    /**
+     * Grows the table in one go so that the given number of entries fit in the slots that may be filled before
+     * a rehash. A table that is not resizable keeps its capacity.
+     *
+     * @param expectedSize the number of entries the map should be able to hold
+     */
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        if (!resizable) {
+            return;
+        }
+        int target = capacity;
+        while (Math.min(target - 1, (int) (target * loadFactor)) < expectedSize) {
+            target *= 2;
+        }
+        if (target > capacity) {
+            rehash(target);
+        }
+    }
+
+    /**
+     * Rebuilds the table when no empty slot may be used any more. If more than an eighth of the slots that may
+     * be filled are taken by deleted entries, or the table cannot grow but has deleted entries at all, the table
+     * keeps its capacity and only the deleted slots are cleared; otherwise its capacity is doubled.
+     *
+     * @throws IllegalStateException if the table must grow but is not resizable
+     */
+    private void rehash() {
+        int limit = Math.min(capacity - 1, (int) (capacity * loadFactor));
+        int deleted = limit - growthLeft - size;
+        if (deleted > limit / 8 || (!resizable && deleted > 0)) {
+            rehash(capacity);
+        } else if (resizable) {
+            rehash(capacity * 2);
+        } else {
+            throw new IllegalStateException("Hash table is full");
+        }
+    }
+
+    /**
+     * Moves all the entries into a new table of the given capacity.
+     *
+     * @param newCapacity the capacity of the new table
+     */
+    private void rehash(int newCapacity) {
+        K[] oldKeys = keys;
+        V[] oldValues = values;
+        long[] oldControl = control;
+        allocate(newCapacity);
+        for (int group = 0; group < oldControl.length; group++) {
+            for (long full = matchFull(oldControl[group]); full != 0; full &= full - 1) {
+                int oldIndex = group * GROUP_WIDTH + (Long.numberOfTrailingZeros(full) >>> 3);
+                int hash = hash(oldKeys[oldIndex]);
+                int index = findInsertSlot(hash);
+                setControl(index, (byte) (hash & 0x7F));
+                keys[index] = oldKeys[oldIndex];
+                values[index] = oldValues[oldIndex];
+                growthLeft--;
+            }
+        }
+    }
+
+    /**
+     * Allocates an empty table of the given power-of-two capacity. The number of empty slots that may be filled
+     * before a rehash always leaves at least one slot empty, so that every probe ends.
+     *
+     * @param capacity the number of slots to allocate
+     */
+    private void allocate(int capacity) {
+        this.capacity = capacity;
+        this.growthLeft = Math.min(capacity - 1, (int) (capacity * loadFactor));
+        this.control = new long[capacity / GROUP_WIDTH];
+        Arrays.fill(control, EMPTY_GROUP);
+        //noinspection unchecked
+        this.keys = (K[]) new Object[capacity];
+        //noinspection unchecked
+        this.values = (V[]) new Object[capacity];
+    }
+
+    /**
+     * Returns the control byte of a slot.
+     *
+     * @param index the slot
+     * @return the control byte of the slot
+     */
+    private byte getControl(int index) {
+        return (byte) (control[index / GROUP_WIDTH] >>> ((index % GROUP_WIDTH) * 8));
+    }
+
+    /**
+     * Sets the control byte of a slot.
+     *
+     * @param index the slot
+     * @param value the new control byte
+     */
+    private void setControl(int index, byte value) {
+        int shift = (index % GROUP_WIDTH) * 8;
+        int group = index / GROUP_WIDTH;
+        control[group] = (control[group] & ~(0xFFL << shift)) | ((value & 0xFFL) << shift);
+    }
+
+    /**
+     * Returns the full hash of a key, multiplied by the golden ratio scaled to 32 bits so that both the 7 bits
+     * of the control byte and the bits choosing the group depend on every bit of the hash code.
+     *
+     * @param key the key to hash
+     * @return the full hash of the key
+     */
+    private int hash(K key) {
+        int h = hashFunction.hash(key) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns a word with the high bit set in every byte of the group equal to the given control byte. A byte
+     * following a match may be reported as well, so the keys of the reported slots must still be compared.
+     *
+     * @param word the control bytes of a group
+     * @param h2   the 7 hash bits to look for
+     * @return the high bits of the matching bytes
+     */
+    private static long matchByte(long word, int h2) {
+        long x = word ^ (LSBS * h2);
+        return (x - LSBS) & ~x & MSBS;
+    }
+
+    /**
+     * Returns a word with the high bit set in every empty byte of the group. Only an empty byte has its high
+     * bit set and its second lowest bit clear.
+     *
+     * @param word the control bytes of a group
+     * @return the high bits of the empty bytes
+     */
+    private static long matchEmpty(long word) {
+        return word & (~word << 6) & MSBS;
+    }
+
+    /**
+     * Returns a word with the high bit set in every empty or deleted byte of the group. These are the bytes
+     * with their high bit set and their lowest bit clear.
+     *
+     * @param word the control bytes of a group
+     * @return the high bits of the empty and deleted bytes
+     */
+    private static long matchEmptyOrDeleted(long word) {
+        return word & (~word << 7) & MSBS;
+    }
+
+    /**
+     * Returns a word with the high bit set in every occupied byte of the group, which are the bytes with their
+     * high bit clear.
+     *
+     * @param word the control bytes of a group
+     * @return the high bits of the occupied bytes
+     */
+    private static long matchFull(long word) {
+        return ~word & MSBS;
+    }
+}
@@ -1,20 +1,41 @@
 package dataStructure.hashMap;
 
+import dataStructure.hashMap.RedBlackTree.TreeNode;
 import dataStructure.hashMap.hashFunction.HashFunction;
 import dataStructure.hashMap.hashFunction.Modulus;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.BiConsumer;
 
 /**
  * TreeHashMap is an implementation of the HashMap interface that uses a tree data structure to
- * organize key-value pairs. The keys are required to be comparable, and the implementation
- * assumes that keys do not change while in the map.
+ * organize key-value pairs. Each bucket is a red-black tree, so lookups, insertions and deletions
+ * within a bucket take O(log n) time even when colliding keys arrive in sorted order. The keys are
+ * required to be comparable, and the implementation assumes that keys do not change while in the map.
+ * Each tree node caches the full hash of its key, and the trees are ordered by that hash first, so most
+ * comparisons inside a bucket never call {@code compareTo} and resizing only hashes a key
+ * again if the map switches hash function. This only holds for hash functions that have a full hash code
+ * (see {@link HashFunction#hasFullHash()}); for any other function the bucket of a key is computed with
+ * {@link HashFunction#hash(Object, int)} on every operation and resize.
+ *
+ * <p>By default the table is rehashed in one go when the load factor is reached. With incremental resizing
+ * enabled, the old and the new table are kept side by side and a bounded number of buckets is migrated on
+ * each operation, so no single operation pays for the whole rehash.</p>
+ *
+ * <p>The map can be given fallback hash functions. It records the size of the bucket tree every new key lands
+ * in, and when a resize finds that the average or the largest of those sizes since the previous resize went
+ * over its collision thresholds, it switches to the next fallback and hashes all keys again.</p>
+ *
+ * <p>The map counts its resizes and lookups and can report the occupancy of its buckets through
+ * {@link #getStats()}, also over JMX.</p>
  *
  * @param <K> the type of keys maintained by this map (must be comparable)
  * @param <V> the type of mapped values
  */
-public class TreeHashMap<K extends Comparable<K>, V> implements HashMap<K, V> {
+public class TreeHashMap<K extends Comparable<K>, V> implements HashMap<K, V>, HashMapStatsMXBean {
     /**
      * Default capacity of the map
      */
@@ -29,12 +50,44 @@ public class TreeHashMap<K extends Comparable<K>, V> implements HashMap<K, V> {
      * Default value for whether or not the map should be resizable
      */
     public static final boolean DEFAULT_RESIZABLE = true;
-    private Node<K, V>[] table;
+
+    /**
+     * Default shrink threshold of the map; 0 means the map never shrinks on its own
+     */
+    public static final float DEFAULT_SHRINK_THRESHOLD = 0f;
+
+    /**
+     * Default average bucket size above which the map switches to its next fallback hash function
+     */
+    public static final float DEFAULT_AVERAGE_COLLISION_THRESHOLD = 3f;
+
+    /**
+     * Default bucket size above which the map switches to its next fallback hash function
+     */
+    public static final int DEFAULT_MAX_COLLISION_THRESHOLD = 16;
+    private RedBlackTree<K, V>[] table;
     private int size;
     private int capacity;
     private final float loadFactor;
     private final boolean resizable;
-    private final HashFunction<K> hashFunction;
+    private HashFunction<K> hashFunction;
+    private List<HashFunction<K>> fallbacks = List.of();
+    private int nextFallback;
+    private float averageCollisionThreshold = DEFAULT_AVERAGE_COLLISION_THRESHOLD;
+    private int maxCollisionThreshold = DEFAULT_MAX_COLLISION_THRESHOLD;
+    private long observedSize;
+    private int observations;
+    private int largestObserved;
+    private long resizeCount;
+    private long resizeTimeNanos;
+    private long getCount;
+    private long getProbeCount;
+    private RedBlackTree<K, V>[] oldTable;
+    private int oldCapacity;
+    private int migrationIndex;
+    private int migrationStep;
+    private float shrinkThreshold = DEFAULT_SHRINK_THRESHOLD;
+    private final int minimumCapacity;
 
     /**
      * Constructs a new, empty tree hash map with the default initial capacity (16).
@@ -101,8 +154,194 @@ public class TreeHashMap<K extends Comparable<K>, V> implements HashMap<K, V> {
         this.capacity = initialCapacity;
         this.resizable = resizable;
         this.hashFunction = hashFunction;
+        this.minimumCapacity = Math.max(1, initialCapacity);
         //noinspection unchecked
-        table = new Node[initialCapacity];
+        table = new RedBlackTree[initialCapacity];
+    }
+
+    /**
+     * Sets how many buckets of the old table are migrated on each operation while a resize is in progress.
+     * A value of 0 rehashes the whole table inside the operation that triggers the resize, which is the
+     * default; switching to it completes any migration that is still in progress.
+     *
+     * @param bucketsPerOperation the number of buckets to migrate per operation, or 0 to resize eagerly
+     * @throws IllegalArgumentException if the number of buckets is negative
+     */
+    public void setIncrementalResize(int bucketsPerOperation) {
+        if (bucketsPerOperation < 0)
+            throw new IllegalArgumentException("Illegal number of buckets per operation: " +
+                    bucketsPerOperation);
+        this.migrationStep = bucketsPerOperation;
+        if (bucketsPerOperation == 0) {
+            migrate(oldCapacity);
+        }
+    }
+
+    /**
+     * Returns how many buckets of the old table are migrated on each operation while a resize is in progress.
+     *
+     * @return the number of buckets migrated per operation, or 0 if the table is resized eagerly
+     */
+    public int getIncrementalResize() {
+        return migrationStep;
+    }
+
+    /**
+     * Sets the load below which a removal halves the capacity of the map, never going below the initial
+     * capacity. The threshold must be lower than half of the load factor, so that a halved map does not
+     * double again on the next insertion. A value of 0 disables shrinking, which is the default. Shrinking
+     * is always done eagerly, even when incremental resizing is enabled.
+     *
+     * @param shrinkThreshold the minimum ratio of entries to buckets, or 0 to never shrink
+     * @throws IllegalArgumentException if the threshold is negative, NaN, or not below half of the load factor
+     */
+    public void setShrinkThreshold(float shrinkThreshold) {
+        if (shrinkThreshold < 0 || shrinkThreshold >= loadFactor / 2 || Float.isNaN(shrinkThreshold))
+            throw new IllegalArgumentException("Illegal shrink threshold: " +
+                    shrinkThreshold);
+        this.shrinkThreshold = shrinkThreshold;
+    }
+
+    /**
+     * Returns the load below which a removal halves the capacity of the map.
+     *
+     * @return the shrink threshold, or 0 if shrinking is disabled
+     */
+    public float getShrinkThreshold() {
+        return shrinkThreshold;
+    }
+
+    /**
+     * Sets the hash functions the map switches to, in order, when its buckets get too large. The switch happens
+     * at the next resize after an insertion landed in a bucket larger than the maximum collision threshold, or
+     * after the average bucket size seen by insertions went over the average collision threshold. Every switch
+     * hashes all keys again. A map that is not resizable only switches when it is rebuilt through
+     * {@link #trimToSize()}. An empty list, the default, keeps the hash function the map was created with.
+     *
+     * @param fallbacks the hash functions to switch to, in order
+     */
+    public void setHashFunctionFallbacks(List<? extends HashFunction<K>> fallbacks) {
+        this.fallbacks = List.copyOf(fallbacks);
+        this.nextFallback = 0;
+    }
+
+    /**
+     * Returns the hash functions the map switches to when its buckets get too large.
+     *
+     * @return the fallback hash functions, in order
+     */
+    public List<HashFunction<K>> getHashFunctionFallbacks() {
+        return fallbacks;
+    }
+
+    /**
+     * Returns the hash function the map currently uses, which is the one it was created with until the map
+     * switches to a fallback.
+     *
+     * @return the current hash function
+     */
+    public HashFunction<K> getHashFunction() {
+        return hashFunction;
+    }
+
+    /**
+     * Sets the bucket sizes above which the map switches to its next fallback hash function at the next resize.
+     *
+     * @param averageSize the average size of the buckets new keys land in
+     * @param maxSize     the size of the largest bucket a new key lands in
+     * @throws IllegalArgumentException if the average size is less than 1 or NaN, or the maximum size is less
+     *                                  than 1
+     */
+    public void setCollisionThresholds(float averageSize, int maxSize) {
+        if (!(averageSize >= 1))
+            throw new IllegalArgumentException("Illegal average collision threshold: " +
+                    averageSize);
+        if (maxSize < 1)
+            throw new IllegalArgumentException("Illegal maximum collision threshold: " +
+                    maxSize);
+        this.averageCollisionThreshold = averageSize;
+        this.maxCollisionThreshold = maxSize;
+    }
+
+    /**
+     * Returns the average bucket size above which the map switches to its next fallback hash function.
+     *
+     * @return the average collision threshold
+     */
+    public float getAverageCollisionThreshold() {
+        return averageCollisionThreshold;
+    }
+
+    /**
+     * Returns the bucket size above which the map switches to its next fallback hash function.
+     *
+     * @return the maximum collision threshold
+     */
+    public int getMaxCollisionThreshold() {
+        return maxCollisionThreshold;
+    }
+
+    /**
+     * Shrinks the table to the smallest capacity that keeps the current entries below the load factor,
+     * completing any resize in progress. Unlike the shrink threshold, this may go below the initial capacity.
+     */
+    public void trimToSize() {
+        int target = capacityFor(size);
+        if (target < capacity) {
+            rehash(target);
+        } else {
+            migrate(oldCapacity);
+        }
+    }
+
+    /**
+     * Grows the table in one go so that it can hold the given number of entries below the load factor. A map
+     * that is not resizable keeps its capacity.
+     *
+     * @param expectedSize the number of entries the map should be able to hold
+     */
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        if (resizable) {
+            int target = capacityFor(expectedSize);
+            if (target > capacity) {
+                rehash(target);
+            }
+        }
+    }
+
+    /**
+     * Copies all of the given entries into this map. The table is grown once for all of them up front, and the
+     * load factor is only checked again after the last entry has been stored.
+     *
+     * @param entries the entries to be stored in this map
+     */
+    @Override
+    public void putAll(Collection<? extends Entry<? extends K, ? extends V>> entries) {
+        ensureCapacity(size + entries.size());
+        migrate(oldCapacity);
+        for (Entry<? extends K, ? extends V> entry : entries) {
+            if (insert(hash(entry.getKey()), entry.getKey(), entry.getValue())) {
+                size++;
+            }
+        }
+        if (resizable && (float) size / capacity >= loadFactor) {
+            resize();
+        }
+    }
+
+    /**
+     * Removes the mappings for all of the given keys from this map. The shrink threshold is only checked after
+     * the last key has been removed, and the table then shrinks in one go instead of halving once per removal.
+     *
+     * @param keys the keys whose mappings are to be removed from the map
+     */
+    @Override
+    public void removeAll(Collection<? extends K> keys) {
+        for (K key : keys) {
+            delete(key);
+        }
+        shrinkIfNeeded();
     }
 
     /**
@@ -112,12 +351,13 @@ public class TreeHashMap<K extends Comparable<K>, V> implements HashMap<K, V> {
      * @param value the value to be associated with the specified key
      */
     public void put(K key, V value) {
-        int index = hash(key);
-        if (table[index] == null) {
-            table[index] = new Node<>(key, value);
+        int hash = hash(key);
+        migrateStep();
+        if (oldTable != null) {
+            migrateBucket(indexFor(hash, key, oldCapacity));
+        }
+        if (insert(hash, key, value)) {
             size++;
-        } else {
-            table[index] = insert(table[index], key, value);
         }
         if (resizable && (float) size / capacity >= loadFactor) {
             resize();
@@ -131,19 +371,73 @@ public class TreeHashMap<K extends Comparable<K>, V> implements HashMap<K, V> {
      * @return the value to which the specified key is mapped, or null if this hash table contains no mapping for the key
      */
     public V get(K key) {
-        int index = hash(key);
-        Node<K, V> node = find(table[index], key);
+        migrateStep();
+        int hash = hash(key);
+        getCount++;
+        TreeNode<K, V> node = find(table[indexFor(hash, key, capacity)], hash, key);
+        if (node == null && oldTable != null) {
+            node = find(oldTable[indexFor(hash, key, oldCapacity)], hash, key);
+        }
         return node != null ? node.value : null;
     }
 
     /**
-     * Removes the mapping for the specified key from this hash table if present.
+     * Removes the mapping for the specified key from this hash table if present. If the load drops
+     * below the shrink threshold, the capacity of the map is halved.
      *
      * @param key the key whose mapping is to be removed from the hash table
      */
     public void remove(K key) {
-        int index = hash(key);
-        table[index] = delete(table[index], key);
+        delete(key);
+        shrinkIfNeeded();
+    }
+
+    /**
+     * Removes the mapping for the specified key from this hash table without checking the shrink threshold.
+     *
+     * @param key the key whose mapping is to be removed from the hash table
+     */
+    private void delete(K key) {
+        int hash = hash(key);
+        migrateStep();
+        if (oldTable != null) {
+            migrateBucket(indexFor(hash, key, oldCapacity));
+        }
+        int index = indexFor(hash, key, capacity);
+        RedBlackTree<K, V> tree = table[index];
+        if (tree != null && tree.remove(hash, key)) {
+            size--;
+            if (tree.size() == 0) {
+                table[index] = null;
+            }
+        }
+    }
+
+    /**
+     * Halves the capacity of the map until the load reaches the shrink threshold again, without going below
+     * the initial capacity, and rebuilds the table once at the final capacity.
+     */
+    private void shrinkIfNeeded() {
+        if (!resizable || shrinkThreshold == 0) {
+            return;
+        }
+        int target = capacity;
+        while (target > minimumCapacity && (float) size / target < shrinkThreshold) {
+            target = Math.max(minimumCapacity, target / 2);
+        }
+        if (target < capacity) {
+            rehash(target);
+        }
+    }
+
+    /**
+     * Returns the smallest capacity that holds the given number of entries below the load factor.
+     *
+     * @param entries the number of entries to hold
+     * @return the capacity for the given number of entries
+     */
+    private int capacityFor(int entries) {
+        return Math.max(1, (int) (entries / loadFactor) + 1);
     }
 
     /**
@@ -166,186 +460,273 @@ public class TreeHashMap<K extends Comparable<K>, V> implements HashMap<K, V> {
     }
 
     /**
-     * Returns the hash code value for the given key.
+     * Returns the full hash code value for the given key. It is cached in the tree node that stores the key,
+     * so that resizing finds the new bucket of the node without hashing the key again.
      *
      * @param key the key for which to compute the hash code
      * @return the hash code value for the given key
      */
     private int hash(K key) {
-        return this.hashFunction.hash(key, capacity);
+        return this.hashFunction.hash(key);
     }
 
     /**
-     * Inserts a new key-value pair into the binary search tree rooted at the given node.
-     * If the key already exists in the tree, the corresponding value is updated.
+     * Returns the bucket of a key in a table of the given capacity. The bucket is found from the cached hash if the
+     * hash function has a full hash code, and by hashing the key for the capacity otherwise.
      *
-     * @param node the root node of the tree
+     * @param hash     the full hash of the key to locate
+     * @param key      the key to locate
+     * @param capacity the capacity of the table
+     * @return the index of the bucket holding the key
+     */
+    private int indexFor(int hash, K key, int capacity) {
+        if (!this.hashFunction.hasFullHash()) {
+            return this.hashFunction.hash(key, capacity);
+        }
+        return this.hashFunction.indexFor(hash, capacity);
+    }
+
+    /**
+     * Inserts the key-value pair into its bucket of the current table without checking the load factor
+     * or updating the size.
+     *
+     * @param hash the hash of the key
      * @param key the key to insert or update
      * @param value the value to associate with the key
-     * @return the root node of the modified tree
+     * @return true if a new mapping was added, false if an existing value was replaced
      */
-    private Node<K, V> insert(Node<K, V> node, K key, V value) {
-        if (node == null) {
-            size++;
-            return new Node<>(key, value);
+    private boolean insert(int hash, K key, V value) {
+        int index = indexFor(hash, key, capacity);
+        if (table[index] == null) {
+            table[index] = new RedBlackTree<>();
         }
-        int cmp = key.compareTo(node.key);
-        if (cmp < 0) {
-            node.left = insert(node.left, key, value);
-        } else if (cmp > 0) {
-            node.right = insert(node.right, key, value);
-        } else {
-            node.value = value;
+        if (table[index].put(hash, key, value)) {
+            observe(table[index].size());
+            return true;
         }
-        return node;
+        return false;
     }
 
     /**
-     * Searches for the node with the specified key in the binary search tree rooted at the given node.
+     * Records the size of the bucket tree a new key has just been added to.
      *
-     * @param node the root node of the tree
-     * @param key the key to search for
-     * @return the node with the specified key, or null if the key is not found in the tree
+     * @param size the number of keys in the tree, including the new one
      */
-    private Node<K, V> find(Node<K, V> node, K key) {
-        if (node == null) {
-            return null;
+    private void observe(int size) {
+        observedSize += size;
+        observations++;
+        if (size > largestObserved) {
+            largestObserved = size;
         }
-        int cmp = key.compareTo(node.key);
-        if (cmp < 0) {
-            return find(node.left, key);
-        } else if (cmp > 0) {
-            return find(node.right, key);
-        } else {
-            return node;
+    }
+
+    /**
+     * Switches to the next fallback hash function if the bucket trees new keys landed in since the previous
+     * rebuild went over the collision thresholds, and starts recording afresh either way.
+     *
+     * @return true if the hash function was switched, in which case every key must be hashed again
+     */
+    private boolean tuneHashFunction() {
+        boolean collided = largestObserved > maxCollisionThreshold
+                || (observations > 0 && (float) observedSize / observations > averageCollisionThreshold);
+        observedSize = 0;
+        observations = 0;
+        largestObserved = 0;
+        if (collided && nextFallback < fallbacks.size()) {
+            hashFunction = fallbacks.get(nextFallback++);
+            return true;
         }
+        return false;
     }
 
     /**
-     * Deletes the node with the given key from the tree rooted at the given node.
-     * If the key is not found in the tree, the original node is returned.
+     * Searches the given bucket tree for the specified key.
      *
-     * @param node the root of the tree to delete from
-     * @param key the key to search for and delete
-     * @return the root of the modified tree after the deletion
+     * @param tree the bucket tree, or null for an empty bucket
+     * @param hash the hash of the key
+     * @param key the key to search for
+     * @return the node with the specified key, or null if the key is not found in the tree
      */
-    private Node<K, V> delete(Node<K, V> node, K key) {
-        if (node == null) {
+    private TreeNode<K, V> find(RedBlackTree<K, V> tree, int hash, K key) {
+        if (tree == null) {
             return null;
         }
-        int cmp = key.compareTo(node.key);
-        if (cmp < 0) {
-            node.left = delete(node.left, key);
-        } else if (cmp > 0) {
-            node.right = delete(node.right, key);
-        } else {
-            if (node.left == null) {
-                size--;
-                return node.right;
-            } else if (node.right == null) {
-                size--;
-                return node.left;
-            } else {
-                Node<K, V> min = node.right;
-                while (min.left != null) {
-                    min = min.left;
-                }
-                node.key = min.key;
-                node.value = min.value;
-                node.right = delete(node.right, min.key);
-            }
-        }
+        TreeNode<K, V> node = tree.find(hash, key);
+        getProbeCount += tree.searchLength();
         return node;
     }
 
     /**
      * Resizes the tree by doubling the capacity and copying data from
      * old table to new table. If collisions are found, tree is traversed
-     * and rehashed the keys to find the new location.
+     * and rehashed the keys to find the new location. With incremental resizing
+     * enabled, the old table is kept and its buckets are migrated by subsequent
+     * operations instead, unless the map switches to a fallback hash function,
+     * which always rebuilds the table in one go.
      */
     public void resize() {
-        int newCapacity = capacity * 2;
-        Node<K, V>[] oldTable = table;
-        //noinspection unchecked
-        table = new Node[newCapacity];
-        capacity = newCapacity;
-        size = 0;
-        for (Node<K, V> node : oldTable) {
-            if (node != null) {
-                resizeHelper(node);
+        long start = System.nanoTime();
+        migrate(oldCapacity);
+        if (tuneHashFunction()) {
+            rebuild(capacity * 2, true);
+        } else {
+            oldTable = table;
+            oldCapacity = capacity;
+            migrationIndex = 0;
+            capacity = capacity * 2;
+            //noinspection unchecked
+            table = new RedBlackTree[capacity];
+            if (migrationStep == 0) {
+                migrate(oldCapacity);
             }
         }
+        resizeCount++;
+        resizeTimeNanos += System.nanoTime() - start;
     }
 
     /**
-     * Recursively reinserts the key-value pairs in the given node's subtree
-     * into the hash table after a resize.
+     * Rebuilds the table with the given capacity in one go, switching to a fallback hash function if the
+     * buckets have been too large. Any resize in progress is completed first.
      *
-     * @param node the root of the subtree to reinsert
+     * @param newCapacity the capacity of the rebuilt table
      */
-    private void resizeHelper(Node<K, V> node) {
-        if (node != null) {
-            put(node.key, node.value);
-            resizeHelper(node.left);
-            resizeHelper(node.right);
-        }
+    private void rehash(int newCapacity) {
+        long start = System.nanoTime();
+        migrate(oldCapacity);
+        rebuild(newCapacity, tuneHashFunction());
+        resizeCount++;
+        resizeTimeNanos += System.nanoTime() - start;
     }
 
     /**
-     * Returns a list of all the keys in the hash table, in no particular order.
+     * Rebuilds the table with the given capacity in one go, reinserting every entry into its new bucket.
+     * No resize may be in progress.
      *
-     * @return a list of all keys in the hash table
+     * @param newCapacity the capacity of the rebuilt table
+     * @param rehashKeys  whether the cached hashes are stale because the hash function has changed
      */
-    public List<K> keys() {
-        List<K> keysList = new ArrayList<>();
-        for (Node<K, V> node : table) {
-            getKeys(node, keysList);
+    private void rebuild(int newCapacity, boolean rehashKeys) {
+        RedBlackTree<K, V>[] previousTable = table;
+        capacity = newCapacity;
+        //noinspection unchecked
+        table = new RedBlackTree[capacity];
+        for (RedBlackTree<K, V> tree : previousTable) {
+            if (tree != null) {
+                for (TreeNode<K, V> node = tree.first(); node != null; node = RedBlackTree.successor(node)) {
+                    insert(rehashKeys ? hash(node.key) : node.hash, node.key, node.value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Migrates the next buckets of a resize in progress, as every operation does, and adds the time taken to
+     * the resize time.
+     */
+    private void migrateStep() {
+        if (oldTable != null) {
+            long start = System.nanoTime();
+            migrate(migrationStep);
+            resizeTimeNanos += System.nanoTime() - start;
         }
-        return keysList;
     }
 
     /**
-     * Recursively adds the keys of the given node and its subtrees to the given list
-     * in ascending order.
+     * Migrates up to the given number of buckets from the old table into the current one, in index order.
+     * The old table is dropped once all of its buckets have been migrated.
      *
-     * @param node the root of the subtree to add keys from
-     * @param keysList the list to add the keys to
+     * @param buckets the maximum number of buckets to migrate
      */
-    private void getKeys(Node<K, V> node, List<K> keysList) {
-        if (node == null) {
-            return;
+    private void migrate(int buckets) {
+        while (oldTable != null && buckets-- > 0) {
+            migrateBucket(migrationIndex++);
+            if (migrationIndex >= oldCapacity) {
+                oldTable = null;
+            }
         }
-        getKeys(node.left, keysList);
-        keysList.add(node.key);
-        getKeys(node.right, keysList);
     }
 
     /**
-     * Returns a list of all the values in the hash table, in no particular order.
+     * Moves all entries of the given bucket of the old table into the current table.
      *
-     * @return a list of all values in the hash table
+     * @param index the bucket of the old table to migrate
      */
-    public List<V> values() {
-        List<V> valuesList = new ArrayList<>();
-        for (Node<K, V> node : table) {
-            getValues(node, valuesList);
+    private void migrateBucket(int index) {
+        RedBlackTree<K, V> tree = oldTable[index];
+        if (tree != null) {
+            for (TreeNode<K, V> node = tree.first(); node != null; node = RedBlackTree.successor(node)) {
+                insert(node.hash, node.key, node.value);
+            }
+            oldTable[index] = null;
         }
-        return valuesList;
     }
 
     /**
-     * Recursively adds the values of the given node and its subtrees to the given list.
+     * Returns a snapshot of the size, bucket occupancy, resize and lookup counters of this map. The depth of a
+     * bucket is the height of its tree.
      *
-     * @param node the root of the subtree to add values from
-     * @param valuesList the list to add the values to
+     * @return the current statistics
      */
-    private void getValues(Node<K, V> node, List<V> valuesList) {
-        if (node == null) {
-            return;
+    @Override
+    public HashMapStats getStats() {
+        int[] histogram = new int[1];
+        int maxDepth = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            RedBlackTree<K, V>[] buckets = pass == 0 ? table : oldTable;
+            if (buckets == null) {
+                continue;
+            }
+            // Buckets of the old table before the migration index have already been moved, and so have the empty
+            // ones after it that operations migrated out of order.
+            for (int i = pass == 0 ? 0 : migrationIndex; i < buckets.length; i++) {
+                int entries = buckets[i] != null ? buckets[i].size() : 0;
+                if (pass == 1 && entries == 0) {
+                    continue;
+                }
+                if (entries >= histogram.length) {
+                    histogram = Arrays.copyOf(histogram, entries + 1);
+                }
+                histogram[entries]++;
+                if (buckets[i] != null) {
+                    maxDepth = Math.max(maxDepth, buckets[i].height());
+                }
+            }
         }
-        getValues(node.left, valuesList);
-        valuesList.add(node.value);
-        getValues(node.right, valuesList);
+        return new HashMapStats(size, capacity, histogram, maxDepth, resizeCount, resizeTimeNanos, getCount,
+                getProbeCount);
+    }
+
+    /**
+     * Resets the resize and lookup counters of this map to zero.
+     */
+    @Override
+    public void resetStats() {
+        resizeCount = 0;
+        resizeTimeNanos = 0;
+        getCount = 0;
+        getProbeCount = 0;
+    }
+
+    /**
+     * Returns a list of all the keys in the hash table, in no particular order.
+     *
+     * @return a list of all keys in the hash table
+     */
+    public List<K> keys() {
+        List<K> keysList = new ArrayList<>(size);
+        forEach((key, value) -> keysList.add(key));
+        return keysList;
+    }
+
+    /**
+     * Returns a list of all the values in the hash table, in no particular order.
+     *
+     * @return a list of all values in the hash table
+     */
+    public List<V> values() {
+        List<V> valuesList = new ArrayList<>(size);
+        forEach((key, value) -> valuesList.add(value));
+        return valuesList;
     }
 
     /**
@@ -354,65 +735,116 @@ public class TreeHashMap<K extends Comparable<K>, V> implements HashMap<K, V> {
      * @return a list of all key-value pairs in the hash table
      */
     public List<Entry<K, V>> entries() {
-        List<Entry<K, V>> entriesList = new ArrayList<>();
-        for (Node<K, V> node : table) {
-            getEntries(node, entriesList);
-        }
+        List<Entry<K, V>> entriesList = new ArrayList<>(size);
+        forEach((key, value) -> entriesList.add(new Entry<>(key, value)));
         return entriesList;
     }
 
     /**
-     * Recursively adds the key-value pairs of the given node and its subtrees to the given list.
+     * Performs the given action for each entry of the current table and of the buckets of the old table
+     * that have not been migrated yet, walking the bucket trees in place.
      *
-     * @param node the root of the subtree to add key-value pairs from
-     * @param entriesList the list to add the key-value pairs to
+     * @param action the action to be performed for each entry
      */
-    private void getEntries(Node<K, V> node, List<Entry<K, V>> entriesList) {
-        if (node == null) {
-            return;
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        forEachEntry(table, action);
+        if (oldTable != null) {
+            forEachEntry(oldTable, action);
         }
-        getEntries(node.left, entriesList);
-        entriesList.add(new Entry<>(node.key, node.value));
-        getEntries(node.right, entriesList);
     }
 
     /**
-     * A class representing a node in a binary search tree.
+     * Returns a cursor that walks the bucket trees of the current table and then the buckets of the old table
+     * that have not been migrated yet. While an incremental resize is in progress, lookups move buckets too, so
+     * the map must not be read through get or containsKey during the walk either.
      *
-     * @param <K> the type of the key stored in the node
-     * @param <V> the type of the value stored in the node
+     * @return a cursor positioned before the first entry of this map
      */
-    private static class Node<K, V> {
-        /**
-         * The key stored in the node.
-         */
-        private K key;
+    @Override
+    public Cursor<K, V> cursor() {
+        return new BucketCursor();
+    }
 
-        /**
-         * The value stored in the node.
-         */
+    /**
+     * Performs the given action for each entry of a table, walking each bucket tree in tree order.
+     *
+     * @param table the bucket trees of the table
+     * @param action the action to be performed for each entry
+     */
+    private static <K, V> void forEachEntry(RedBlackTree<K, V>[] table, BiConsumer<? super K, ? super V> action) {
+        for (RedBlackTree<K, V> tree : table) {
+            if (tree == null) {
+                continue;
+            }
+            for (TreeNode<K, V> node = tree.first(); node != null; node = RedBlackTree.successor(node)) {
+                action.accept(node.key, node.value);
+            }
+        }
+    }
+
+    /**
+     * A cursor that walks the bucket trees of the map in place. The tables are read when the cursor is reset,
+     * so a reset also picks up a resize that happened in between.
+     */
+    private class BucketCursor implements Cursor<K, V> {
+        private RedBlackTree<K, V>[] buckets;
+        private int bucket;
+        private boolean walkingOldTable;
+        private TreeNode<K, V> node;
+        private K key;
         private V value;
 
         /**
-         * The left child of the node.
+         * Constructs a new cursor positioned before the first entry.
          */
-        private Node<K, V> left;
+        BucketCursor() {
+            reset();
+        }
 
-        /**
-         * The right child of the node.
-         */
-        private Node<K, V> right;
+        @Override
+        public boolean next() {
+            while (node == null) {
+                if (bucket + 1 >= buckets.length) {
+                    if (walkingOldTable || oldTable == null) {
+                        key = null;
+                        value = null;
+                        return false;
+                    }
+                    walkingOldTable = true;
+                    buckets = oldTable;
+                    bucket = -1;
+                    continue;
+                }
+                bucket++;
+                if (buckets[bucket] != null) {
+                    node = buckets[bucket].first();
+                }
+            }
+            key = node.key;
+            value = node.value;
+            node = RedBlackTree.successor(node);
+            return true;
+        }
 
-        /**
-         * Constructs a new node with the specified key and value.
-         *
-         * @param key the key to be stored in the node
-         * @param value the value to be stored in the node
-         */
-        public Node(K key, V value) {
-            this.key = key;
-            this.value = value;
+        @Override
+        public K key() {
+            return key;
+        }
+
+        @Override
+        public V value() {
+            return value;
+        }
+
+        @Override
+        public void reset() {
+            buckets = table;
+            bucket = -1;
+            walkingOldTable = false;
+            node = null;
+            key = null;
+            value = null;
         }
     }
 }
-
@@ -0,0 +1,49 @@
+package dataStructure.hashMap.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts values of a type to and from a fixed number of bytes, so that they can be stored in memory outside the
+ * Java heap.
+ *
+ * @param <T> the type of the values
+ */
+public interface FixedWidthCodec<T> {
+    /**
+     * Returns the number of bytes every value takes.
+     *
+     * @return the width of a value in bytes
+     */
+    int width();
+
+    /**
+     * Writes a value into the buffer at the given position, without moving the position of the buffer.
+     *
+     * @param buffer the buffer to write to
+     * @param offset the position of the first byte
+     * @param value  the value to write
+     */
+    void write(ByteBuffer buffer, int offset, T value);
+
+    /**
+     * Reads a value from the buffer at the given position, without moving the position of the buffer.
+     *
+     * @param buffer the buffer to read from
+     * @param offset the position of the first byte
+     * @return the value read
+     */
+    T read(ByteBuffer buffer, int offset);
+
+    /**
+     * Returns true if the bytes at the given position encode the given value. Codecs of primitive wrappers
+     * override this to compare without creating a new object.
+     *
+     * @param buffer the buffer to read from
+     * @param offset the position of the first byte
+     * @param value  the value to compare with
+     * @return true if the stored value is equal to the given value
+     */
+    default boolean matches(ByteBuffer buffer, int offset, T value) {
+        return read(buffer, offset).equals(value);
+    }
+}
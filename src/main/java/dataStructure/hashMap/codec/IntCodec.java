@@ -0,0 +1,28 @@
+package dataStructure.hashMap.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A codec storing an Integer in 4 bytes.
+ */
+public class IntCodec implements FixedWidthCodec<Integer> {
+    @Override
+    public int width() {
+        return Integer.BYTES;
+    }
+
+    @Override
+    public void write(ByteBuffer buffer, int offset, Integer value) {
+        buffer.putInt(offset, value);
+    }
+
+    @Override
+    public Integer read(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset);
+    }
+
+    @Override
+    public boolean matches(ByteBuffer buffer, int offset, Integer value) {
+        return buffer.getInt(offset) == value;
+    }
+}
@@ -0,0 +1,28 @@
+package dataStructure.hashMap.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A codec storing a Long in 8 bytes.
+ */
+public class LongCodec implements FixedWidthCodec<Long> {
+    @Override
+    public int width() {
+        return Long.BYTES;
+    }
+
+    @Override
+    public void write(ByteBuffer buffer, int offset, Long value) {
+        buffer.putLong(offset, value);
+    }
+
+    @Override
+    public Long read(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset);
+    }
+
+    @Override
+    public boolean matches(ByteBuffer buffer, int offset, Long value) {
+        return buffer.getLong(offset) == value;
+    }
+}
@@ -16,6 +16,45 @@ public interface HashFunction<K> {
      * @return the hash code for the specified key
      */
     int hash(K key, int capacity);
+
+    /**
+     * Generates a full 32-bit hash code for the specified key, independent of any table capacity. Tables whose
+     * capacity is a power of two take the low bits of this value as the bucket index. Tables only place keys by
+     * this value if {@link #hasFullHash()} returns true.
+     *
+     * @param key the key to be hashed
+     * @return the hash code for the specified key
+     */
+    default int hash(K key) {
+        return key.hashCode();
+    }
+
+    /**
+     * Maps a full hash code produced by {@link #hash(Object)} to a bucket of a table with the specified capacity.
+     * Tables that cache the full hash code of each key use this to find the bucket again without hashing the key.
+     * Implementations whose {@link #hash(Object, int)} is not derived from the full hash code override this method
+     * to match it.
+     *
+     * @param hash     the full hash code of a key
+     * @param capacity the capacity of the hash table
+     * @return the index of the bucket for the hash code
+     */
+    default int indexFor(int hash, int capacity) {
+        return Math.abs(hash % capacity);
+    }
+
+    /**
+     * Returns whether {@link #hash(Object)} is a full hash code for this function, that is, whether
+     * {@code indexFor(hash(key), capacity)} equals {@code hash(key, capacity)} for every key and capacity. Tables
+     * that cache full hash codes call {@link #hash(Object, int)} instead when it does not, and tables that can only
+     * work with full hash codes reject the function. The default returns false, so that a function implementing
+     * only {@link #hash(Object, int)}, such as a lambda, is never bypassed.
+     *
+     * @return true if the full hash code places keys the same way as {@link #hash(Object, int)}
+     */
+    default boolean hasFullHash() {
+        return false;
+    }
 }
 
 
@@ -19,4 +19,15 @@ public class Modulus <K> implements HashFunction<K> {
     public int hash(K key, int capacity) {
         return Math.abs(key.hashCode() % capacity);
     }
+
+    /**
+     * Returns true, since the bucket is the remainder of the {@code hashCode} of the key, which is the default
+     * full hash code, and the default {@link #indexFor(int, int)} reduces it the same way.
+     *
+     * @return true
+     */
+    @Override
+    public boolean hasFullHash() {
+        return true;
+    }
 }
@@ -9,7 +9,9 @@ package dataStructure.hashMap.hashFunction;
 public class Multiplicative<K> implements HashFunction<K> {
 
     /**
-     * Generates a hash code for the given key using the Multiplicative hash function.
+     * Generates a hash code for the given key using the Multiplicative hash function, by scaling its full hash
+     * code to the capacity, so that it gives the same bucket as the maps that place keys with
+     * {@link #indexFor(int, int)}.
      *
      * @param key the key to be hashed
      * @param capacity the capacity of the hash table
@@ -17,9 +19,44 @@ public class Multiplicative<K> implements HashFunction<K> {
      */
     @Override
     public int hash(K key, int capacity) {
+        return indexFor(hash(key), capacity);
+    }
+
+    /**
+     * Generates a full hash code for the given key by multiplying it with the golden ratio scaled to 32 bits,
+     * which keeps the fraction of its product with the golden ratio in the 32 bits of the result.
+     *
+     * @param key the key to be hashed
+     * @return the hash code for the given key
+     */
+    @Override
+    public int hash(K key) {
         final int prime = 31;
         int result = 1;
         result = prime * result + key.hashCode();
-        return Math.abs((int) (capacity * ((result * 0.618033988749895) % 1)));
+        return result * 0x9E3779B9;
+    }
+
+    /**
+     * Maps a full hash code to a bucket by taking the high bits of its product with the capacity, which scales
+     * the fraction of the golden-ratio product to the table.
+     *
+     * @param hash     the full hash code of a key
+     * @param capacity the capacity of the hash table
+     * @return the index of the bucket for the hash code
+     */
+    @Override
+    public int indexFor(int hash, int capacity) {
+        return (int) (((hash & 0xFFFFFFFFL) * capacity) >>> 32);
+    }
+
+    /**
+     * Returns true, since {@link #hash(Object, int)} is derived from the full hash code.
+     *
+     * @return true
+     */
+    @Override
+    public boolean hasFullHash() {
+        return true;
     }
 }
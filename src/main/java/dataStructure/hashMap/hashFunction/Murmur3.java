@@ -0,0 +1,123 @@
+package dataStructure.hashMap.hashFunction;
+
+import java.security.SecureRandom;
+
+/**
+ * A seeded hash function built on the 64-bit finalizer of MurmurHash3. Character sequences, such as vehicle IDs,
+ * are hashed character by character together with the seed, so the buckets they land in cannot be predicted
+ * without knowing the seed. Any other key is hashed through its {@code hashCode}, which the seed and the
+ * finalizer spread over all 32 bits; keys with equal hash codes still collide.
+ *
+ * <p>Every instance created without an explicit seed draws its own seed from a {@link SecureRandom}.</p>
+ *
+ * @param <K> the type of keys that will be hashed by this function
+ */
+public class Murmur3<K> implements HashFunction<K> {
+    private static final SecureRandom SEEDS = new SecureRandom();
+    private static final long C1 = 0x87C37B91114253D5L;
+    private static final long C2 = 0x4CF5AD432745937FL;
+
+    private final long seed;
+
+    /**
+     * Constructs a new hash function with a random seed.
+     */
+    public Murmur3() {
+        this(SEEDS.nextLong());
+    }
+
+    /**
+     * Constructs a new hash function with the given seed. Two instances with the same seed hash every key
+     * to the same value, which makes runs reproducible.
+     *
+     * @param seed the seed of the hash function
+     */
+    public Murmur3(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Computes the bucket of a key by scaling its full hash code to the capacity.
+     *
+     * @param key      the key to be hashed
+     * @param capacity the capacity of the hash table
+     * @return the hash code of the key
+     */
+    @Override
+    public int hash(K key, int capacity) {
+        return indexFor(hash(key), capacity);
+    }
+
+    /**
+     * Computes the full hash code of a key.
+     *
+     * @param key the key to be hashed
+     * @return the hash code of the key
+     */
+    @Override
+    public int hash(K key) {
+        long h;
+        if (key instanceof CharSequence chars) {
+            h = seed;
+            int length = chars.length();
+            for (int i = 0; i < length; i++) {
+                long k = chars.charAt(i) * C1;
+                k = Long.rotateLeft(k, 31) * C2;
+                h ^= k;
+                h = Long.rotateLeft(h, 27) * 5 + 0x52DCE729;
+            }
+            h ^= length;
+        } else {
+            h = seed ^ key.hashCode();
+        }
+        h = fmix64(h);
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Maps a full hash code to a bucket by taking the high bits of its product with the capacity, which avoids
+     * a division.
+     *
+     * @param hash     the full hash code of a key
+     * @param capacity the capacity of the hash table
+     * @return the index of the bucket for the hash code
+     */
+    @Override
+    public int indexFor(int hash, int capacity) {
+        return (int) (((hash & 0xFFFFFFFFL) * capacity) >>> 32);
+    }
+
+    /**
+     * Returns true, since {@link #hash(Object, int)} is derived from the full hash code.
+     *
+     * @return true
+     */
+    @Override
+    public boolean hasFullHash() {
+        return true;
+    }
+
+    /**
+     * Returns the seed of this hash function.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * The 64-bit finalizer of MurmurHash3, in which every input bit affects every output bit.
+     *
+     * @param h the value to mix
+     * @return the mixed value
+     */
+    private static long fmix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,124 @@
+package dataStructure.hashMap.hashFunction;
+
+import java.security.SecureRandom;
+
+/**
+ * A seeded hash function in the style of wyhash, which mixes by folding the 128-bit product of two 64-bit values
+ * into 64 bits. Character sequences, such as vehicle IDs, are read four characters at a time and mixed with the
+ * seed, so the buckets they land in cannot be predicted without knowing the seed. Any other key is hashed through
+ * its {@code hashCode}; keys with equal hash codes still collide.
+ *
+ * <p>Every instance created without an explicit seed draws its own seed from a {@link SecureRandom}.</p>
+ *
+ * @param <K> the type of keys that will be hashed by this function
+ */
+public class WyHash<K> implements HashFunction<K> {
+    private static final SecureRandom SEEDS = new SecureRandom();
+    private static final long P0 = 0xA0761D6478BD642FL;
+    private static final long P1 = 0xE7037ED1A0B428DBL;
+    private static final long P2 = 0x8EBC6AF09C88C6E3L;
+
+    private final long seed;
+
+    /**
+     * Constructs a new hash function with a random seed.
+     */
+    public WyHash() {
+        this(SEEDS.nextLong());
+    }
+
+    /**
+     * Constructs a new hash function with the given seed. Two instances with the same seed hash every key
+     * to the same value, which makes runs reproducible.
+     *
+     * @param seed the seed of the hash function
+     */
+    public WyHash(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Computes the bucket of a key by scaling its full hash code to the capacity.
+     *
+     * @param key      the key to be hashed
+     * @param capacity the capacity of the hash table
+     * @return the hash code of the key
+     */
+    @Override
+    public int hash(K key, int capacity) {
+        return indexFor(hash(key), capacity);
+    }
+
+    /**
+     * Computes the full hash code of a key.
+     *
+     * @param key the key to be hashed
+     * @return the hash code of the key
+     */
+    @Override
+    public int hash(K key) {
+        long h;
+        if (key instanceof CharSequence chars) {
+            h = seed ^ P0;
+            int length = chars.length();
+            int i = 0;
+            for (; i + 4 <= length; i += 4) {
+                long word = chars.charAt(i) | (long) chars.charAt(i + 1) << 16
+                        | (long) chars.charAt(i + 2) << 32 | (long) chars.charAt(i + 3) << 48;
+                h = mix(word ^ P1, h);
+            }
+            long tail = 0;
+            for (int shift = 0; i < length; i++, shift += 16) {
+                tail |= (long) chars.charAt(i) << shift;
+            }
+            h = mix(tail ^ P1, h ^ length);
+        } else {
+            h = mix(key.hashCode() ^ P1, seed ^ P0);
+        }
+        h = mix(h ^ P2, P1);
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Maps a full hash code to a bucket by taking the high bits of its product with the capacity, which avoids
+     * a division.
+     *
+     * @param hash     the full hash code of a key
+     * @param capacity the capacity of the hash table
+     * @return the index of the bucket for the hash code
+     */
+    @Override
+    public int indexFor(int hash, int capacity) {
+        return (int) (((hash & 0xFFFFFFFFL) * capacity) >>> 32);
+    }
+
+    /**
+     * Returns true, since {@link #hash(Object, int)} is derived from the full hash code.
+     *
+     * @return true
+     */
+    @Override
+    public boolean hasFullHash() {
+        return true;
+    }
+
+    /**
+     * Returns the seed of this hash function.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Multiplies two values into a 128-bit product and folds its high half into its low half.
+     *
+     * @param a the first value
+     * @param b the second value
+     * @return the folded product
+     */
+    private static long mix(long a, long b) {
+        return Math.multiplyHigh(a, b) ^ (a * b);
+    }
+}
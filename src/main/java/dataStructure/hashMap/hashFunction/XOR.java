@@ -16,9 +16,31 @@ public class XOR<K> implements HashFunction<K> {
      */
     @Override
     public int hash(K key, int capacity) {
+        return Math.abs(hash(key) % capacity);
+    }
+
+    /**
+     * Computes the full hash code for a given key by XOR-ing shifted copies of its {@code hashCode}.
+     *
+     * @param key the key to be hashed
+     * @return the hash code of the key
+     */
+    @Override
+    public int hash(K key) {
         int h = key.hashCode();
         h ^= (h >>> 20) ^ (h >>> 12);
         h ^= (h >>> 7) ^ (h >>> 4);
-        return Math.abs(h % capacity);
+        return h;
+    }
+
+    /**
+     * Returns true, since {@link #hash(Object, int)} is the remainder of the full hash code, which the default
+     * {@link #indexFor(int, int)} reduces the same way.
+     *
+     * @return true
+     */
+    @Override
+    public boolean hasFullHash() {
+        return true;
     }
 }
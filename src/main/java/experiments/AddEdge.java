@@ -3,8 +3,11 @@ package experiments;
 import dataStructure.graph.Graph;
 import dataStructure.graph.adjacencyListGraph.AdjacencyListGraph;
 import dataStructure.graph.hashMapGraph.HashMapGraph;
+import dataStructure.graph.hashMapGraph.PrimitiveHashMapGraph;
 import dataStructure.hashMap.HashMap;
 import dataStructure.hashMap.LinkedListHashMap;
+import dataStructure.hashMap.RobinHoodHashMap;
+import dataStructure.hashMap.SwissHashMap;
 import dataStructure.hashMap.TreeHashMap;
 import util.GraphGeneration;
 import util.VanetEntry;
@@ -47,6 +50,27 @@ public class AddEdge {
             GraphGeneration.createGraph(treeHashMapGraph, vanetData);
             System.out.println("HashMap Graph based on Tree took: " + (System.currentTimeMillis() - start) + "ms");
 
+            // Graph based on RobinHoodHashMap
+            start = System.currentTimeMillis();
+            HashMap<Vehicle, HashMap<Vehicle, Integer>> robinHoodHashMap = new RobinHoodHashMap<>();
+            Graph<Vehicle> robinHoodHashMapGraph = new HashMapGraph<>(robinHoodHashMap);
+            GraphGeneration.createGraph(robinHoodHashMapGraph, vanetData);
+            System.out.println("HashMap Graph based on Robin Hood took: " + (System.currentTimeMillis() - start) + "ms");
+
+            // Graph based on SwissHashMap
+            start = System.currentTimeMillis();
+            HashMap<Vehicle, HashMap<Vehicle, Integer>> swissHashMap = new SwissHashMap<>();
+            Graph<Vehicle> swissHashMapGraph = new HashMapGraph<>(swissHashMap);
+            GraphGeneration.createGraph(swissHashMapGraph, vanetData);
+            System.out.println("HashMap Graph based on Swiss table took: " + (System.currentTimeMillis() - start) + "ms");
+
+            // Graph based on IntIntHashMap neighbour maps
+            start = System.currentTimeMillis();
+            HashMap<Vehicle, Integer> vertexIds = new LinkedListHashMap<>();
+            Graph<Vehicle> primitiveHashMapGraph = new PrimitiveHashMapGraph<>(vertexIds);
+            GraphGeneration.createGraph(primitiveHashMapGraph, vanetData);
+            System.out.println("HashMap Graph based on primitive neighbour maps took: " + (System.currentTimeMillis() - start) + "ms");
+
             // Graph based on AdjacencyListGraph
             start = System.currentTimeMillis();
             Graph<Vehicle> adjacencyListGraph = new AdjacencyListGraph<>();
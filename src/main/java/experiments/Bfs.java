@@ -3,6 +3,7 @@ import dataStructure.graph.Graph;
 import dataStructure.graph.Route;
 import dataStructure.graph.adjacencyListGraph.AdjacencyListGraph;
 import dataStructure.graph.hashMapGraph.HashMapGraph;
+import dataStructure.hashMap.CuckooHashMap;
 import dataStructure.hashMap.HashMap;
 import dataStructure.hashMap.LinkedListHashMap;
 import dataStructure.hashMap.TreeHashMap;
@@ -54,6 +55,17 @@ public class Bfs {
             Util.printPath(distances);
             System.out.println("HashMap Graph based on Tree took: " + (System.currentTimeMillis() - start) + "ms");
 
+            // Creating HashMap Graph based on Cuckoo hashing
+            HashMap<Vehicle, HashMap<Vehicle, Integer>> cuckooHashMap = new CuckooHashMap<>();
+            Graph<Vehicle> cuckooHashMapGraph = new HashMapGraph<>(cuckooHashMap);
+            cuckooHashMapGraph = GraphGeneration.createGraph(cuckooHashMapGraph, vanetData);
+
+            // Calculating shortest path on HashMap Graph based on Cuckoo hashing
+            start = System.currentTimeMillis();
+            distances = cuckooHashMapGraph.shortestPath(source, destination);
+            Util.printPath(distances);
+            System.out.println("HashMap Graph based on Cuckoo hashing took: " + (System.currentTimeMillis() - start) + "ms");
+
             // Creating Graph based on Adjacency List
             Graph<Vehicle> adjacencyListGraph = new AdjacencyListGraph<>();
             adjacencyListGraph = GraphGeneration.createGraph(adjacencyListGraph, vanetData);
@@ -0,0 +1,64 @@
+package experiments;
+
+import dataStructure.graph.hashMapGraph.HashMapGraph;
+import dataStructure.hashMap.HashMap;
+import dataStructure.hashMap.LinkedListHashMap;
+import dataStructure.hashMap.RobinHoodHashMap;
+import dataStructure.hashMap.SwissHashMap;
+import dataStructure.hashMap.TreeHashMap;
+import util.GraphGeneration;
+import util.VanetEntry;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The BulkLoad class compares building graphs edge by edge with {@link GraphGeneration#createGraph}, which lets
+ * the maps grow as the edges are added, against {@link GraphGeneration#bulkLoadGraph}, which sizes all the maps
+ * for the data first. The time of the bulk load includes the pass that counts the degrees of the vehicles.
+ */
+public class BulkLoad {
+    /**
+     * The main method that builds each graph both ways and prints the time taken.
+     *
+     * @param args command-line arguments (not used)
+     */
+    public static void main(String[] args) {
+
+        // Array of different number of vertices
+        int[] vertices = {10, 50, 100, 500, 1000, 2500, 5000};
+
+        for (int i = 0; i < vertices.length; i++) {
+            List<VanetEntry> vanetData = GraphGeneration.generateVanetData(vertices[i]);
+            System.out.println("To store " + vertices[i] + " vehicles and " + vanetData.size() + " edges:");
+
+            run("Linked List", LinkedListHashMap::new, vanetData);
+            run("Tree", TreeHashMap::new, vanetData);
+            run("Robin Hood", RobinHoodHashMap::new, vanetData);
+            run("Swiss table", SwissHashMap::new, vanetData);
+
+            System.out.println();
+        }
+    }
+
+    /**
+     * Builds a graph based on the given adjacency map from the vanet data edge by edge and then with a bulk load,
+     * and prints the time taken by each.
+     *
+     * @param name         the name of the hash map
+     * @param adjacencyMap a supplier of empty adjacency maps
+     * @param vanetData    the vanet data to add to the graphs
+     */
+    private static void run(String name, Supplier<HashMap<Vehicle, HashMap<Vehicle, Integer>>> adjacencyMap,
+                            List<VanetEntry> vanetData) {
+        long start = System.currentTimeMillis();
+        GraphGeneration.createGraph(new HashMapGraph<>(adjacencyMap.get()), vanetData);
+        long incremental = System.currentTimeMillis() - start;
+
+        start = System.currentTimeMillis();
+        GraphGeneration.bulkLoadGraph(new HashMapGraph<>(adjacencyMap.get()), vanetData);
+        long bulk = System.currentTimeMillis() - start;
+
+        System.out.println("HashMap Graph based on " + name + " took: " + incremental + "ms edge by edge, "
+                + bulk + "ms with a bulk load");
+    }
+}
@@ -0,0 +1,271 @@
+package experiments;
+
+import dataStructure.hashMap.Entry;
+import dataStructure.hashMap.HashMap;
+import dataStructure.hashMap.LinkedListHashMap;
+import dataStructure.hashMap.LockFreeHashMap;
+import dataStructure.hashMap.StripedHashMap;
+import util.GraphGeneration;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class measures how the throughput of a hash map shared between threads scales with the number of threads.
+ * It compares a LinkedListHashMap guarded by one global lock with a StripedHashMap, which locks per segment
+ * and reads without locking, and with a LockFreeHashMap, which never locks.
+ *
+ * <p>Besides a mixed lookup and update workload over a fixed set of keys, it runs two workloads that start from
+ * an empty map of the default capacity, so that the tables keep resizing while the threads work: an ingest that
+ * inserts fresh keys, and a churn that inserts fresh keys and removes every second key again. For these it also
+ * reports the slowest single operation, which shows how long a thread waited behind a resize, and the time the
+ * garbage collector paused the threads meanwhile, since a pause also shows up as a slow operation.</p>
+ */
+public class ConcurrentAccess {
+    /**
+     * The number of operations performed by every thread.
+     */
+    private static final int OPERATIONS_PER_THREAD = 1_000_000;
+
+    /**
+     * The percentage of operations that are lookups; the rest are updates.
+     */
+    private static final int READ_PERCENTAGE = 80;
+
+    /**
+     * The number of fresh keys inserted by all threads together in the ingest and churn workloads.
+     */
+    private static final int FRESH_KEYS = 1_000_000;
+
+    /**
+     * The main method runs a mixed lookup and update workload over a fixed set of vehicles, then the ingest and
+     * churn workloads, with an increasing number of threads and prints the throughput of each map.
+     *
+     * @param args command-line arguments (not used)
+     * @throws InterruptedException if the main thread is interrupted while waiting for the workers
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int[] threads = {1, 2, 4, 8, 16};
+        List<Vehicle> vehicles = GraphGeneration.generateVehicleData(5000);
+        List<Vehicle> freshVehicles = GraphGeneration.generateVehicleData(FRESH_KEYS);
+        for (int threadCount : threads) {
+            System.out.println("With " + threadCount + " threads performing " + OPERATIONS_PER_THREAD
+                    + " operations each on " + vehicles.size() + " vehicles:");
+
+            HashMap<Vehicle, Integer> linkedListHashMap = new LinkedListHashMap<>();
+            long time = run(new Synchronized<>(linkedListHashMap), vehicles, threadCount);
+            System.out.println("LinkedListHashMap behind a global lock: "
+                    + (long) threadCount * OPERATIONS_PER_THREAD / Math.max(time, 1) + " ops/ms");
+
+            HashMap<Vehicle, Integer> stripedHashMap = new StripedHashMap<>();
+            time = run(stripedHashMap, vehicles, threadCount);
+            System.out.println("StripedHashMap: "
+                    + (long) threadCount * OPERATIONS_PER_THREAD / Math.max(time, 1) + " ops/ms");
+
+            HashMap<Vehicle, Integer> lockFreeHashMap = new LockFreeHashMap<>();
+            time = run(lockFreeHashMap, vehicles, threadCount);
+            System.out.println("LockFreeHashMap: "
+                    + (long) threadCount * OPERATIONS_PER_THREAD / Math.max(time, 1) + " ops/ms");
+
+            for (boolean churn : new boolean[]{false, true}) {
+                System.out.println((churn ? "Inserting and removing every second one of " : "Inserting ")
+                        + freshVehicles.size() + " fresh vehicles into growing maps:");
+                long[] result = grow(new Synchronized<>(new LinkedListHashMap<>()), freshVehicles, threadCount, churn);
+                System.out.println("LinkedListHashMap behind a global lock: " + describe(result));
+                result = grow(new StripedHashMap<>(), freshVehicles, threadCount, churn);
+                System.out.println("StripedHashMap: " + describe(result));
+                result = grow(new LockFreeHashMap<>(), freshVehicles, threadCount, churn);
+                System.out.println("LockFreeHashMap: " + describe(result));
+            }
+
+            System.out.println();
+        }
+    }
+
+    /**
+     * Describes the result of a workload on a growing map.
+     *
+     * @param result the number of operations, the time taken in milliseconds, the slowest operation in
+     *               nanoseconds and the time spent in garbage collection in milliseconds
+     * @return the throughput, the slowest operation and the garbage collection time
+     */
+    private static String describe(long[] result) {
+        return result[0] / Math.max(result[1], 1) + " ops/ms, slowest operation " + result[2] / 1000
+                + "us, " + result[3] + "ms in garbage collection";
+    }
+
+    /**
+     * Returns the total time the garbage collectors have spent collecting so far.
+     *
+     * @return the collection time in milliseconds
+     */
+    private static long collectionTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(collector.getCollectionTime(), 0);
+        }
+        return time;
+    }
+
+    /**
+     * Runs the workload on the given map with the given number of threads.
+     *
+     * @param map         the map to run the workload on
+     * @param vehicles    the vehicles used as keys
+     * @param threadCount the number of threads
+     * @return the time it took for all threads to finish, in milliseconds
+     * @throws InterruptedException if the main thread is interrupted while waiting for the workers
+     */
+    static long run(HashMap<Vehicle, Integer> map, List<Vehicle> vehicles, int threadCount)
+            throws InterruptedException {
+        for (Vehicle vehicle : vehicles) {
+            map.put(vehicle, vehicle.getSpeed());
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int op = 0; op < OPERATIONS_PER_THREAD; op++) {
+                    Vehicle vehicle = vehicles.get(random.nextInt(vehicles.size()));
+                    if (random.nextInt(100) < READ_PERCENTAGE) {
+                        map.get(vehicle);
+                    } else {
+                        map.put(vehicle, random.nextInt(140));
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+        long begin = System.currentTimeMillis();
+        start.countDown();
+        done.await();
+        return System.currentTimeMillis() - begin;
+    }
+
+    /**
+     * Inserts the given fresh keys into an empty map with the given number of threads, so that the map resizes
+     * while the threads insert. Every thread takes every threadCount-th key. With churn, every thread also
+     * removes each second key it inserted right after inserting the next one.
+     *
+     * @param map         the empty map to run the workload on
+     * @param keys        the fresh keys to insert
+     * @param threadCount the number of threads
+     * @param churn       whether every second key is removed again
+     * @return the number of operations, the time it took for all threads to finish in milliseconds, the slowest
+     * single operation in nanoseconds and the time spent in garbage collection in milliseconds
+     * @throws InterruptedException if the main thread is interrupted while waiting for the workers
+     */
+    static long[] grow(HashMap<Vehicle, Integer> map, List<Vehicle> keys, int threadCount, boolean churn)
+            throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threadCount);
+        AtomicLong operations = new AtomicLong();
+        AtomicLong slowest = new AtomicLong();
+        for (int i = 0; i < threadCount; i++) {
+            int first = i;
+            new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long count = 0;
+                long max = 0;
+                for (int index = first; index < keys.size(); index += threadCount) {
+                    Vehicle vehicle = keys.get(index);
+                    long begin = System.nanoTime();
+                    map.put(vehicle, vehicle.getSpeed());
+                    max = Math.max(max, System.nanoTime() - begin);
+                    count++;
+                    if (churn && count % 2 == 0) {
+                        begin = System.nanoTime();
+                        map.remove(keys.get(index - threadCount));
+                        max = Math.max(max, System.nanoTime() - begin);
+                        count++;
+                    }
+                }
+                operations.addAndGet(count);
+                slowest.accumulateAndGet(max, Math::max);
+                done.countDown();
+            }).start();
+        }
+        long collection = collectionTime();
+        long begin = System.currentTimeMillis();
+        start.countDown();
+        done.await();
+        long time = System.currentTimeMillis() - begin;
+        return new long[]{operations.get(), time, slowest.get(), collectionTime() - collection};
+    }
+
+    /**
+     * A view of a hash map that serializes every operation on one global lock, the way a map that is not
+     * thread-safe has to be shared.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    private static class Synchronized<K, V> implements HashMap<K, V> {
+        private final HashMap<K, V> map;
+
+        /**
+         * Constructs a new view of the given map.
+         *
+         * @param map the map to guard
+         */
+        Synchronized(HashMap<K, V> map) {
+            this.map = map;
+        }
+
+        @Override
+        public synchronized int size() {
+            return map.size();
+        }
+
+        @Override
+        public synchronized boolean containsKey(K key) {
+            return map.containsKey(key);
+        }
+
+        @Override
+        public synchronized void put(K key, V value) {
+            map.put(key, value);
+        }
+
+        @Override
+        public synchronized V get(K key) {
+            return map.get(key);
+        }
+
+        @Override
+        public synchronized void remove(K key) {
+            map.remove(key);
+        }
+
+        @Override
+        public synchronized List<K> keys() {
+            return map.keys();
+        }
+
+        @Override
+        public synchronized List<V> values() {
+            return map.values();
+        }
+
+        @Override
+        public synchronized List<Entry<K, V>> entries() {
+            return map.entries();
+        }
+    }
+}
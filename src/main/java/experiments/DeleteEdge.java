@@ -44,6 +44,18 @@ public class DeleteEdge {
             }
             System.out.println("HashMap Graph based on Linked List took: " + ((double) (System.nanoTime() - start) / 1000000) + "ms");
 
+            // Test the performance of deleting edges from a graph based on a linked list hash map with an edge filter
+            HashMap<Vehicle, HashMap<Vehicle, Integer>> filteredHashMap = new LinkedListHashMap<>(16, false);
+            HashMapGraph<Vehicle> filteredHashMapGraph = new HashMapGraph<>(filteredHashMap);
+            filteredHashMapGraph.setEdgeFilterEnabled(true);
+            GraphGeneration.createGraph(filteredHashMapGraph, vanetData);
+            start = System.nanoTime();
+            for (VanetEntry vanetEntry : edgesToBeDeleted) {
+                filteredHashMapGraph.removeEdge(vanetEntry.getSourceVehicle(), vanetEntry.getDestinationVehicle());
+            }
+            System.out.println("HashMap Graph based on Linked List with a " + filteredHashMapGraph.getEdgeFilterMemory()
+                    + " byte edge filter took: " + ((double) (System.nanoTime() - start) / 1000000) + "ms");
+
             // Test the performance of deleting edges from a graph based on a tree hash map
             HashMap<Vehicle, HashMap<Vehicle, Integer>> treeHashMap = new TreeHashMap<>(16, false);
             Graph<Vehicle> treeHashMapGraph = new HashMapGraph<>(treeHashMap);
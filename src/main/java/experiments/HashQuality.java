@@ -0,0 +1,289 @@
+package experiments;
+
+import dataStructure.hashMap.HashMap;
+import dataStructure.hashMap.HashMapStats;
+import dataStructure.hashMap.HashMapStatsMXBean;
+import dataStructure.hashMap.LinkedListHashMap;
+import dataStructure.hashMap.TreeHashMap;
+import dataStructure.hashMap.hashFunction.*;
+import util.GraphGeneration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * This class measures the quality of each hash function on vehicle IDs. Unlike {@link Hashing#getCollisionRate},
+ * which only counts duplicate buckets, it reports for each function and each distribution of IDs:
+ * <ul>
+ *     <li>the chi-squared statistic of the bucket counts in a table with one bucket per key, divided by its
+ *     degrees of freedom, which is close to 1 for a uniform hash function and grows as the keys cluster,</li>
+ *     <li>the avalanche score, the average fraction of the 32 bits of the full hash code that change when one
+ *     bit of a key changes, which is 0.5 for an ideal hash function,</li>
+ *     <li>the time taken per hash code, and</li>
+ *     <li>the maximum bucket depth and the average number of entries compared per lookup in real
+ *     {@link LinkedListHashMap} and {@link TreeHashMap} instances filled to several load factors.</li>
+ * </ul>
+ * The IDs are sequential, random, or adversarial: the adversarial IDs have string hash codes that are multiples
+ * of 1024, so that functions using the low bits of the hash code put them into few buckets.
+ */
+public class HashQuality {
+    /**
+     * The number of keys of each distribution.
+     */
+    private static final int KEYS = 10_000;
+
+    /**
+     * The number of keys whose bits are flipped to measure the avalanche score.
+     */
+    private static final int AVALANCHE_KEYS = 1_000;
+
+    /**
+     * The load factors the maps are filled to. The tables are not resizable, so the load stays as given.
+     */
+    private static final float[] LOAD_FACTORS = {0.5f, 0.75f, 1f, 2f};
+
+    /**
+     * The multiple of which the hash codes of the adversarial IDs are.
+     */
+    private static final int ADVERSARIAL_STRIDE = 1024;
+
+    /**
+     * The number of rounds run before measuring the time per hash code.
+     */
+    private static final int WARM_UP_ROUNDS = 20;
+
+    /**
+     * The number of measured rounds.
+     */
+    private static final int ROUNDS = 50;
+
+    /**
+     * The seed of the random IDs, so that runs are comparable.
+     */
+    private static final long SEED = 42;
+
+    /**
+     * Collects the results of the hash functions so that the JIT compiler cannot drop the hashing.
+     */
+    private static int sink;
+
+    /**
+     * The main method generates the three distributions of IDs and prints the quality of every hash function on
+     * each of them.
+     *
+     * @param args command-line arguments (not used)
+     */
+    public static void main(String[] args) {
+        run("sequential IDs", sequentialIds());
+        run("random IDs", randomIds());
+        run("adversarial IDs", adversarialIds());
+    }
+
+    /**
+     * Prints the quality of every hash function on the given keys.
+     *
+     * @param distribution the name of the distribution to print
+     * @param keys         the keys to hash
+     */
+    private static void run(String distribution, List<String> keys) {
+        System.out.println("For " + keys.size() + " " + distribution + ":");
+        run("Modulus", Modulus::new, keys);
+        run("Multiplicative", Multiplicative::new, keys);
+        run("XOR", XOR::new, keys);
+        run("Murmur3", Murmur3::new, keys);
+        run("WyHash", WyHash::new, keys);
+        System.out.println();
+    }
+
+    /**
+     * Prints the quality of one hash function on the given keys. The maps get their own instance of the hash
+     * function, so that seeded functions are not measured with a single lucky or unlucky seed only.
+     *
+     * @param name         the name of the hash function to print
+     * @param hashFunction creates instances of the hash function to measure
+     * @param keys         the keys to hash
+     */
+    private static void run(String name, Supplier<HashFunction<String>> hashFunction, List<String> keys) {
+        HashFunction<String> function = hashFunction.get();
+        System.out.printf("%s has chi-squared %.2f, avalanche %.3f and takes %.2fns per hash%n", name,
+                getChiSquared(function, keys), getAvalanche(function, keys), getNanosPerHash(function, keys));
+        for (float loadFactor : LOAD_FACTORS) {
+            int capacity = Math.max(1, (int) (keys.size() / loadFactor));
+            LinkedListHashMap<String, String> chained =
+                    new LinkedListHashMap<>(capacity, false, loadFactor, hashFunction.get());
+            TreeHashMap<String, String> tree = new TreeHashMap<>(capacity, false, loadFactor, hashFunction.get());
+            System.out.printf("  at load %.2f: LinkedListHashMap %s, TreeHashMap %s%n", loadFactor,
+                    describe(fill(chained, keys)), describe(fill(tree, keys)));
+        }
+    }
+
+    /**
+     * Puts all the keys into the map and looks each of them up once.
+     *
+     * @param map  the map to fill
+     * @param keys the keys to put
+     * @param <M>  the type of the map
+     * @return the statistics of the map after the lookups
+     */
+    private static <M extends HashMap<String, String> & HashMapStatsMXBean> HashMapStats fill(M map,
+                                                                                          List<String> keys) {
+        for (String key : keys) {
+            map.put(key, key);
+        }
+        map.resetStats();
+        for (String key : keys) {
+            map.get(key);
+        }
+        return map.getStats();
+    }
+
+    /**
+     * Formats the depth and probe count of a filled map.
+     *
+     * @param stats the statistics of the map
+     * @return the formatted statistics
+     */
+    private static String describe(HashMapStats stats) {
+        return String.format("max depth %d, %.2f probes per get", stats.getMaxDepth(),
+                stats.getAverageProbesPerGet());
+    }
+
+    /**
+     * Computes the chi-squared statistic of the bucket counts of the keys in a table with one bucket per key,
+     * divided by its degrees of freedom.
+     *
+     * @param hashFunction the hash function to use
+     * @param keys         the keys to hash
+     * @param <K>          the type of the keys
+     * @return the normalized chi-squared statistic
+     */
+    public static <K> double getChiSquared(HashFunction<K> hashFunction, List<K> keys) {
+        int capacity = keys.size();
+        int[] buckets = new int[capacity];
+        for (K key : keys) {
+            buckets[hashFunction.hash(key, capacity)]++;
+        }
+
+        double expected = (double) keys.size() / capacity;
+        double chiSquared = 0;
+        for (int bucket : buckets) {
+            chiSquared += (bucket - expected) * (bucket - expected) / expected;
+        }
+        return chiSquared / Math.max(1, capacity - 1);
+    }
+
+    /**
+     * Computes the average fraction of the bits of the full hash code that change when one of the low seven bits
+     * of one character of a key is flipped, over the first keys of the list.
+     *
+     * @param hashFunction the hash function to use
+     * @param keys         the keys to hash
+     * @return the avalanche score, 0.5 for an ideal hash function
+     */
+    public static double getAvalanche(HashFunction<String> hashFunction, List<String> keys) {
+        long changedBits = 0;
+        long flips = 0;
+        for (String key : keys.subList(0, Math.min(AVALANCHE_KEYS, keys.size()))) {
+            int hash = hashFunction.hash(key);
+            char[] chars = key.toCharArray();
+            for (int i = 0; i < chars.length; i++) {
+                for (int bit = 0; bit < 7; bit++) {
+                    chars[i] ^= (char) (1 << bit);
+                    changedBits += Integer.bitCount(hash ^ hashFunction.hash(new String(chars)));
+                    chars[i] ^= (char) (1 << bit);
+                    flips++;
+                }
+            }
+        }
+        return flips == 0 ? 0 : (double) changedBits / (flips * Integer.SIZE);
+    }
+
+    /**
+     * Measures the average time the hash function takes to compute the full hash code of a key.
+     *
+     * @param hashFunction the hash function to measure
+     * @param keys         the keys to hash
+     * @param <K>          the type of the keys
+     * @return the time per hash code in nanoseconds
+     */
+    private static <K> double getNanosPerHash(HashFunction<K> hashFunction, List<K> keys) {
+        for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+            hashAll(hashFunction, keys);
+        }
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            hashAll(hashFunction, keys);
+        }
+        return (double) (System.nanoTime() - start) / ((long) ROUNDS * keys.size());
+    }
+
+    /**
+     * Computes the full hash code of every key.
+     *
+     * @param hashFunction the hash function to use
+     * @param keys         the keys to hash
+     * @param <K>          the type of the keys
+     */
+    private static <K> void hashAll(HashFunction<K> hashFunction, List<K> keys) {
+        int h = 0;
+        for (K key : keys) {
+            h += hashFunction.hash(key);
+        }
+        sink += h;
+    }
+
+    /**
+     * Generates the IDs of sequentially numbered vehicles.
+     *
+     * @return the sequential IDs
+     */
+    private static List<String> sequentialIds() {
+        List<String> ids = new ArrayList<>(KEYS);
+        for (Vehicle vehicle : GraphGeneration.generateVehicleData(KEYS)) {
+            ids.add(vehicle.getVehicleId());
+        }
+        return ids;
+    }
+
+    /**
+     * Generates distinct IDs with random numbers.
+     *
+     * @return the random IDs
+     */
+    private static List<String> randomIds() {
+        Random random = new Random(SEED);
+        Set<String> ids = new LinkedHashSet<>();
+        while (ids.size() < KEYS) {
+            ids.add("V" + random.nextInt(Integer.MAX_VALUE));
+        }
+        return new ArrayList<>(ids);
+    }
+
+    /**
+     * Generates distinct IDs whose string hash codes are multiples of {@link #ADVERSARIAL_STRIDE}. Each ID is a
+     * sequential ID followed by the two alphanumeric characters that make its hash code such a multiple.
+     *
+     * @return the adversarial IDs
+     */
+    private static List<String> adversarialIds() {
+        List<String> ids = new ArrayList<>(KEYS);
+        for (int i = 1; ids.size() < KEYS; i++) {
+            String prefix = "V" + i;
+            int base = prefix.hashCode() * 31 * 31;
+            search:
+            for (char first = '0'; first <= 'z'; first++) {
+                for (char second = '0'; second <= 'z'; second++) {
+                    if ((base + 31 * first + second) % ADVERSARIAL_STRIDE == 0) {
+                        ids.add(prefix + first + second);
+                        break search;
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,123 @@
+package experiments;
+
+import dataStructure.hashMap.hashFunction.*;
+import util.GraphGeneration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class measures how fast each hash function hashes keys. The keys are the IDs of generated vehicles, which
+ * the seeded functions hash character by character, and the vehicles themselves, which every function hashes
+ * through their hash code. Each function first runs a few warm-up rounds so that the measured rounds run
+ * compiled code.
+ */
+public class HashThroughput {
+    /**
+     * The number of rounds run before measuring.
+     */
+    private static final int WARM_UP_ROUNDS = 20;
+
+    /**
+     * The number of measured rounds.
+     */
+    private static final int ROUNDS = 50;
+
+    /**
+     * Collects the results of the hash functions so that the JIT compiler cannot drop the hashing.
+     */
+    private static int sink;
+
+    /**
+     * The main method generates vehicles and prints the time each hash function takes per key, both for the full
+     * hash code and for the bucket in a table as large as the number of keys.
+     *
+     * @param args command-line arguments (not used)
+     */
+    public static void main(String[] args) {
+        List<Vehicle> vehicles = GraphGeneration.generateVehicleData(100_000);
+        List<String> vehicleIds = new ArrayList<>(vehicles.size());
+        for (Vehicle vehicle : vehicles) {
+            vehicleIds.add(vehicle.getVehicleId());
+        }
+
+        System.out.println("To hash " + vehicles.size() + " vehicle IDs:");
+        run("Modulus", new Modulus<>(), vehicleIds);
+        run("Multiplicative", new Multiplicative<>(), vehicleIds);
+        run("XOR", new XOR<>(), vehicleIds);
+        run("Murmur3", new Murmur3<>(), vehicleIds);
+        run("WyHash", new WyHash<>(), vehicleIds);
+        System.out.println();
+
+        System.out.println("To hash " + vehicles.size() + " vehicles:");
+        run("Modulus", new Modulus<>(), vehicles);
+        run("Multiplicative", new Multiplicative<>(), vehicles);
+        run("XOR", new XOR<>(), vehicles);
+        run("Murmur3", new Murmur3<>(), vehicles);
+        run("WyHash", new WyHash<>(), vehicles);
+        System.out.println();
+    }
+
+    /**
+     * Hashes all the keys with the given function and prints the average time per key.
+     *
+     * @param name         the name of the hash function to print
+     * @param hashFunction the hash function to measure
+     * @param keys         the keys to hash
+     * @param <K>          the type of the keys
+     */
+    private static <K> void run(String name, HashFunction<K> hashFunction, List<K> keys) {
+        int capacity = keys.size();
+        for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+            hashAll(hashFunction, keys);
+            indexAll(hashFunction, keys, capacity);
+        }
+
+        long hashTime = 0;
+        long indexTime = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            hashAll(hashFunction, keys);
+            hashTime += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            indexAll(hashFunction, keys, capacity);
+            indexTime += System.nanoTime() - start;
+        }
+
+        long hashes = (long) ROUNDS * keys.size();
+        System.out.printf("%s took %.2fns per full hash and %.2fns per bucket%n", name,
+                (double) hashTime / hashes, (double) indexTime / hashes);
+    }
+
+    /**
+     * Computes the full hash code of every key.
+     *
+     * @param hashFunction the hash function to use
+     * @param keys         the keys to hash
+     * @param <K>          the type of the keys
+     */
+    private static <K> void hashAll(HashFunction<K> hashFunction, List<K> keys) {
+        int h = 0;
+        for (K key : keys) {
+            h += hashFunction.hash(key);
+        }
+        sink += h;
+    }
+
+    /**
+     * Computes the bucket of every key in a table of the given capacity.
+     *
+     * @param hashFunction the hash function to use
+     * @param keys         the keys to hash
+     * @param capacity     the capacity of the table
+     * @param <K>          the type of the keys
+     */
+    private static <K> void indexAll(HashFunction<K> hashFunction, List<K> keys, int capacity) {
+        int h = 0;
+        for (K key : keys) {
+            h += hashFunction.hash(key, capacity);
+        }
+        sink += h;
+    }
+}
@@ -0,0 +1,93 @@
+package experiments;
+
+import dataStructure.graph.hashMapGraph.HashMapGraph;
+import dataStructure.hashMap.HashMap;
+import dataStructure.hashMap.LinkedListHashMap;
+import util.GraphGeneration;
+import util.VanetEntry;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * This class measures how much memory a graph based on a linked list hash map allocates while its edges are
+ * deleted and added again, with and without node pooling. It runs the workload of {@link DeleteEdge} and then
+ * adds the deleted edges back, for several rounds, and reports the bytes allocated and the time taken by each
+ * phase. The allocated bytes are counted per thread by the JVM, so they include every allocation of the phase,
+ * not only the chain nodes.
+ */
+public class NodePooling {
+    /**
+     * The number of rounds of deleting and adding back the edges.
+     */
+    private static final int ROUNDS = 5;
+
+    /**
+     * The maximum number of pooled nodes of each map when node pooling is enabled.
+     */
+    private static final int NODE_POOL_LIMIT = 1024;
+
+    /**
+     * The main method of the class
+     *
+     * @param args the command line arguments (not used in this program)
+     */
+    public static void main(String[] args) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        // An array with the number of vertices to be used in each test
+        int[] vertices = {100, 500, 1000, 2500};
+        for (int vertex : vertices) {
+            // Generate the VANET data and select the edges to be deleted
+            List<VanetEntry> vanetData = GraphGeneration.generateVanetData(vertex);
+            List<VanetEntry> edgesToBeDeleted = DeleteEdge.getEdgesToBeDeleted(vanetData, (int) (vanetData.size() * 0.33));
+            System.out.println("To delete and add back " + edgesToBeDeleted.size() + " edges " + ROUNDS
+                    + " times in graph of " + vertex + " vehicles and " + vanetData.size() + " edges:");
+            for (int nodePoolLimit : new int[]{0, NODE_POOL_LIMIT}) {
+                run(threads, vanetData, edgesToBeDeleted, nodePoolLimit);
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * Builds a graph with the given node pool limit, deletes and adds back the edges for several rounds, and
+     * prints the bytes allocated and the time taken by each phase.
+     *
+     * @param threads          the bean that counts the bytes allocated by the current thread
+     * @param vanetData        the edges of the graph
+     * @param edgesToBeDeleted the edges to delete and add back
+     * @param nodePoolLimit    the maximum number of pooled nodes of each map, or 0 to disable node pooling
+     */
+    private static void run(com.sun.management.ThreadMXBean threads, List<VanetEntry> vanetData,
+                            List<VanetEntry> edgesToBeDeleted, int nodePoolLimit) {
+        LinkedListHashMap<Vehicle, HashMap<Vehicle, Integer>> linkedListHashMap = new LinkedListHashMap<>(16, false);
+        linkedListHashMap.setNodePoolLimit(nodePoolLimit);
+        HashMapGraph<Vehicle> graph = new HashMapGraph<>(linkedListHashMap);
+        GraphGeneration.createGraph(graph, vanetData);
+
+        long deleteBytes = 0;
+        long deleteNanos = 0;
+        long addBytes = 0;
+        long addNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long bytes = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            for (VanetEntry vanetEntry : edgesToBeDeleted) {
+                graph.removeEdge(vanetEntry.getSourceVehicle(), vanetEntry.getDestinationVehicle());
+            }
+            deleteNanos += System.nanoTime() - start;
+            deleteBytes += threads.getCurrentThreadAllocatedBytes() - bytes;
+
+            bytes = threads.getCurrentThreadAllocatedBytes();
+            start = System.nanoTime();
+            for (VanetEntry vanetEntry : edgesToBeDeleted) {
+                graph.addEdge(vanetEntry.getSourceVehicle(), vanetEntry.getDestinationVehicle(), vanetEntry.getWeight());
+            }
+            addNanos += System.nanoTime() - start;
+            addBytes += threads.getCurrentThreadAllocatedBytes() - bytes;
+        }
+        System.out.println("HashMap Graph based on Linked List with a node pool limit of " + nodePoolLimit
+                + ": deleting allocated " + deleteBytes + " bytes in " + ((double) deleteNanos / 1000000)
+                + "ms, adding back allocated " + addBytes + " bytes in " + ((double) addNanos / 1000000) + "ms");
+    }
+}
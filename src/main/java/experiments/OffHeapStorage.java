@@ -0,0 +1,93 @@
+package experiments;
+
+import dataStructure.hashMap.HashMap;
+import dataStructure.hashMap.LinkedListHashMap;
+import dataStructure.hashMap.OffHeapHashMap;
+import dataStructure.hashMap.codec.IntCodec;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * This class compares how much work the garbage collector does for a LinkedListHashMap, whose entries are heap
+ * objects, and for an OffHeapHashMap, whose entries live in direct memory. Each map is filled with vehicle ids
+ * mapped to speeds, and then a full collection is forced while the map is still reachable.
+ */
+public class OffHeapStorage {
+    /**
+     * The main method fills both maps with an increasing number of entries and prints the time taken to fill
+     * them, the collections that ran while filling them and the duration of a full collection afterwards.
+     *
+     * @param args command-line arguments (not used)
+     */
+    public static void main(String[] args) {
+        int[] entries = {100_000, 1_000_000, 5_000_000};
+        for (int count : entries) {
+            System.out.println("To store " + count + " vehicle speeds:");
+
+            HashMap<Integer, Integer> linkedListHashMap = new LinkedListHashMap<>();
+            run("LinkedListHashMap", linkedListHashMap, count);
+            // Drop the heap map so that it is not traced during the off-heap run
+            linkedListHashMap = null;
+
+            HashMap<Integer, Integer> offHeapHashMap = new OffHeapHashMap<>(new IntCodec(), new IntCodec());
+            run("OffHeapHashMap", offHeapHashMap, count);
+
+            System.out.println();
+        }
+    }
+
+    /**
+     * Fills the given map and prints the measurements.
+     *
+     * @param name  the name of the map to print
+     * @param map   the map to fill
+     * @param count the number of entries to put
+     */
+    private static void run(String name, HashMap<Integer, Integer> map, int count) {
+        System.gc();
+        long collections = collectionCount();
+        long collectionTime = collectionTime();
+        long start = System.currentTimeMillis();
+        for (int id = 0; id < count; id++) {
+            map.put(id, id % 140);
+        }
+        long fillTime = System.currentTimeMillis() - start;
+        collections = collectionCount() - collections;
+        collectionTime = collectionTime() - collectionTime;
+
+        start = System.currentTimeMillis();
+        System.gc();
+        long fullCollection = System.currentTimeMillis() - start;
+
+        System.out.println(name + " took: " + fillTime + "ms, with " + collections + " collections taking "
+                + collectionTime + "ms; a full collection afterwards took " + fullCollection + "ms (" + map.size()
+                + " entries)");
+    }
+
+    /**
+     * Returns the total number of collections run by all collectors so far.
+     *
+     * @return the total number of collections
+     */
+    private static long collectionCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(collector.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the total time spent in collections by all collectors so far.
+     *
+     * @return the total collection time in milliseconds
+     */
+    private static long collectionTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(collector.getCollectionTime(), 0);
+        }
+        return time;
+    }
+}
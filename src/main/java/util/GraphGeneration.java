@@ -2,8 +2,7 @@ package util;
 
 import dataStructure.graph.Graph;
 import dataStructure.graph.hashMapGraph.HashMapGraph;
-import dataStructure.hashMap.Entry;
-import dataStructure.hashMap.HashMap;
+import dataStructure.graph.hashMapGraph.PrimitiveHashMapGraph;
 import experiments.Vehicle;
 import java.util.*;
 
@@ -67,11 +66,9 @@ public class GraphGeneration {
         // delete vertices
         for (Vehicle source : randomKeys) {
             if (graph instanceof HashMapGraph<Vehicle> hashMapGraph) {
-                HashMap<Vehicle, Integer> innerMap = hashMapGraph.getAdjacencyMap().get(source);
-                for (Entry<Vehicle, Integer> innerEntry : innerMap.entries()) {
-                    Vehicle destination = innerEntry.getKey();
-                    graph.removeEdge(source, destination);
-                }
+                hashMapGraph.removeIncidentEdges(source);
+                graph.removeVertex(source);
+            } else if (graph instanceof PrimitiveHashMapGraph<Vehicle>) {
                 graph.removeVertex(source);
             }
         }
@@ -97,6 +94,42 @@ public class GraphGeneration {
         return graph;
     }
 
+    /**
+     * Creates a graph from the given vanet data like {@link #createGraph(Graph, List)}, but first sizes the maps of
+     * the graph for the data, so that none of them resizes while the edges are added. Counting the degrees of the
+     * vehicles takes one extra pass over the data.
+     *
+     * @param graph     The graph to add edges to.
+     * @param vanetData The vanet data to add to the graph.
+     * @return The updated graph.
+     */
+    public static Graph<Vehicle> bulkLoadGraph(
+            HashMapGraph<Vehicle> graph, List<VanetEntry> vanetData) {
+        presize(graph, vanetData);
+        return createGraph(graph, vanetData);
+    }
+
+    /**
+     * Sizes the maps of a graph for the given vanet data before any edge is added. The adjacency map is sized for
+     * all the vehicles, and the neighbour map of each vehicle for the number of edges it takes part in, which is
+     * capped at the number of other vehicles since repeated edges only update the weight.
+     *
+     * @param graph     The graph to size.
+     * @param vanetData The vanet data that will be added to the graph.
+     */
+    private static void presize(HashMapGraph<Vehicle> graph, List<VanetEntry> vanetData) {
+        Map<Vehicle, Integer> degrees = new LinkedHashMap<>();
+        for (VanetEntry vanetEntry : vanetData) {
+            degrees.merge(vanetEntry.getSourceVehicle(), 1, Integer::sum);
+            degrees.merge(vanetEntry.getDestinationVehicle(), 1, Integer::sum);
+        }
+        graph.ensureCapacity(graph.getNumberOfVertices() + degrees.size());
+        int otherVehicles = degrees.size() - 1;
+        for (Map.Entry<Vehicle, Integer> degree : degrees.entrySet()) {
+            graph.addVertex(degree.getKey(), Math.min(degree.getValue(), otherVehicles));
+        }
+    }
+
     /**
      * Generates a list of vehicles with randomly generated speeds.
      *